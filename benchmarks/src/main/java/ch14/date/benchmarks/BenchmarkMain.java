@@ -0,0 +1,101 @@
+package ch14.date.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, which adds allocation rate and
+ * bytes allocated per operation to every result.  Accepts the usual JMH
+ * command line, for example {@code -p order=random DayDateBenchmarks.plus},
+ * including {@code -l} and {@code -h}.
+ * <P>
+ * Without {@code -t} every benchmark is run at 1, 2, 4... threads up to the
+ * number of processors, in throughput mode unless {@code -bm} says
+ * otherwise, and a table of the scores per thread count is printed at the
+ * end.  That table is the scaling curve, for example of
+ * {@code createDateWithTime} against {@code synchronizedCalendarCreateDate}.
+ * Give {@code -t} to run a single thread count.
+ */
+public class BenchmarkMain {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(BenchmarkMain.class.getPackage().getName() + ".*");
+        }
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+        } else if (commandLine.shouldList()) {
+            new Runner(options.build()).list();
+        } else if (commandLine.shouldListWithParams()) {
+            new Runner(options.build()).listWithParams(commandLine);
+        } else if (commandLine.getThreads().hasValue()) {
+            new Runner(options.build()).run();
+        } else {
+            if (commandLine.getBenchModes().isEmpty()) options.mode(Mode.Throughput);
+            if (!commandLine.getTimeUnit().hasValue()) options.timeUnit(TimeUnit.MICROSECONDS);
+            List<RunResult> results = new ArrayList<>();
+            List<Integer> threadCounts = threadCounts(Runtime.getRuntime().availableProcessors());
+            for (int threads : threadCounts) {
+                results.addAll(new Runner(options.threads(threads).build()).run());
+            }
+            printCurve(threadCounts, results);
+        }
+    }
+
+    /** 1, 2, 4... below {@code processors}, then {@code processors} itself. */
+    static List<Integer> threadCounts(int processors) {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < processors; threads *= 2) counts.add(threads);
+        counts.add(processors);
+        return counts;
+    }
+
+    private static void printCurve(List<Integer> threadCounts, List<RunResult> results) {
+        Map<String, Map<Integer, RunResult>> rows = new LinkedHashMap<>();
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            rows.computeIfAbsent(label(params), key -> new TreeMap<>()).put(params.getThreads(), result);
+        }
+        int width = rows.keySet().stream().mapToInt(String::length).max().orElse(0);
+
+        StringBuilder header = new StringBuilder(String.format("%n%-" + width + "s", "Threads"));
+        for (int threads : threadCounts) header.append(String.format("%12d", threads));
+        System.out.println(header.append("  Units"));
+        for (Map.Entry<String, Map<Integer, RunResult>> row : rows.entrySet()) {
+            StringBuilder line = new StringBuilder(String.format("%-" + width + "s", row.getKey()));
+            String unit = "";
+            for (int threads : threadCounts) {
+                RunResult result = row.getValue().get(threads);
+                if (result == null) {
+                    line.append(String.format("%12s", "-"));
+                    continue;
+                }
+                line.append(String.format("%12.3f", result.getPrimaryResult().getScore()));
+                unit = result.getPrimaryResult().getScoreUnit();
+            }
+            System.out.println(line.append("  ").append(unit));
+        }
+    }
+
+    private static String label(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        int method = benchmark.lastIndexOf('.');
+        StringBuilder label = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', method - 1) + 1));
+        for (String key : params.getParamsKeys()) label.append(' ').append(key).append('=').append(params.getParam(key));
+        return label.toString();
+    }
+}
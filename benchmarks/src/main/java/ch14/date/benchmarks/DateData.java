@@ -0,0 +1,82 @@
+package ch14.date.benchmarks;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.Random;
+
+import ch14.date.Day;
+import ch14.date.DayDate;
+import ch14.date.DayDateFactory;
+import ch14.date.Month;
+import ch14.date.SpreadsheetDate;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Inputs for {@link DayDateBenchmarks}, one set per benchmark thread.
+ * <P>
+ * {@code random} draws ordinals from the whole supported range, so table
+ * lookups miss the cache the way scattered data does; {@code sequential}
+ * walks consecutive days from 1 January 2000.  Each call to {@link #next()}
+ * moves to the next of {@link #SIZE} prepared entries.
+ */
+@State(Scope.Thread)
+public class DateData {
+    static final int SIZE = 1 << 12;
+    private static final int MASK = SIZE - 1;
+
+    @Param({"random", "sequential"})
+    public String order;
+
+    int[] ordinals = new int[SIZE];
+    int[] days = new int[SIZE];
+    int[] months = new int[SIZE];
+    Month[] monthEnums = new Month[SIZE];
+    int[] years = new int[SIZE];
+    Date[] utilDates = new Date[SIZE];
+    LocalDate[] localDates = new LocalDate[SIZE];
+    long[] epochDays = new long[SIZE];
+    DayDate[] dates = new DayDate[SIZE];
+    FootprintBenchmarks.FieldDate[] fieldDates = new FootprintBenchmarks.FieldDate[SIZE];
+    Day[] targetDays = new Day[SIZE];
+    String[] monthNames = new String[SIZE];
+    String[] dayNames = new String[SIZE];
+    int[] amounts = new int[SIZE];
+
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int first = SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+        int start = DayDateFactory.makeDate(1, 1, 2000).getOrdinalDay();
+        // Leave room for plusYears(100) at the top of the range.
+        int last = DayDateFactory.makeDate(31, 12, 9899).getOrdinalDay();
+        for (int i = 0; i < SIZE; i++) {
+            int ordinal = "random".equals(order) ? first + random.nextInt(last - first + 1) : start + i;
+            DayDate date = DayDateFactory.makeDate(ordinal);
+            ordinals[i] = ordinal;
+            days[i] = date.getDayOfMonth();
+            months[i] = date.getMonth().toInt();
+            monthEnums[i] = date.getMonth();
+            years[i] = date.getYear();
+            utilDates[i] = date.toDate();
+            localDates[i] = date.toLocalDate();
+            epochDays[i] = date.toEpochDay();
+            dates[i] = date;
+            fieldDates[i] = new FootprintBenchmarks.FieldDate(ordinal);
+            targetDays[i] = Day.values()[random.nextInt(7)];
+            Month month = Month.values()[random.nextInt(12)];
+            monthNames[i] = random.nextBoolean() ? month.toString() : month.toShortString();
+            dayNames[i] = Day.values()[random.nextInt(7)].toString();
+            amounts[i] = 1 + random.nextInt(100);
+        }
+    }
+
+    /** Index of the next prepared entry. */
+    int next() {
+        return cursor++ & MASK;
+    }
+}
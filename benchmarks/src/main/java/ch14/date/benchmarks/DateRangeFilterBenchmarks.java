@@ -0,0 +1,84 @@
+package ch14.date.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import ch14.date.DateInterval;
+import ch14.date.DateRangeFilter;
+import ch14.date.DayDate;
+import ch14.date.DayDateFactory;
+import ch14.date.SpreadsheetDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link DateRangeFilter} next to calling {@link DayDate#isInRange} once
+ * per object, reported per row.
+ * <P>
+ * The filter uses the Vector API kernel when it is available; add
+ * {@code -jvmArgsAppend -Dch14.date.disableVector=true} to the command line
+ * to measure the scalar kernel instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@OperationsPerInvocation(DateRangeFilterBenchmarks.ROWS)
+public class DateRangeFilterBenchmarks {
+    static final int ROWS = 1 << 20;
+
+    @State(Scope.Thread)
+    public static class Column {
+        int[] ordinals = new int[ROWS];
+        DayDate[] dates = new DayDate[ROWS];
+        int[] selection = new int[ROWS];
+        long[] bits = new long[(ROWS + 63) >>> 6];
+        DayDate from;
+        DayDate to;
+
+        @Setup
+        public void setUp() {
+            Random random = new Random(42);
+            int first = SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+            int last = SpreadsheetDate.LATEST_DATE_ORDINAL;
+            for (int i = 0; i < ROWS; i++) {
+                ordinals[i] = first + random.nextInt(last - first + 1);
+                dates[i] = DayDateFactory.makeDate(ordinals[i]);
+            }
+            from = DayDateFactory.makeDate(1, 1, 2000);
+            to = DayDateFactory.makeDate(31, 12, 4999);
+        }
+    }
+
+    @Benchmark
+    public int perObjectIsInRange(Column column) {
+        int count = 0;
+        for (DayDate date : column.dates) {
+            if (date.isInRange(column.from, column.to, DateInterval.CLOSED_LEFT)) column.selection[count++] = 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int select(Column column) {
+        return DateRangeFilter.select(column.ordinals, column.from.getOrdinalDay(), column.to.getOrdinalDay(),
+                DateInterval.CLOSED_LEFT, column.selection);
+    }
+
+    @Benchmark
+    public long[] mask(Column column) {
+        DateRangeFilter.mask(column.ordinals, column.from.getOrdinalDay(), column.to.getOrdinalDay(),
+                DateInterval.CLOSED_LEFT, column.bits);
+        return column.bits;
+    }
+}
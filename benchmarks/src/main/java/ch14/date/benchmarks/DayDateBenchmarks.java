@@ -0,0 +1,146 @@
+package ch14.date.benchmarks;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import ch14.date.Day;
+import ch14.date.DateUtilities;
+import ch14.date.DayDate;
+import ch14.date.DayDateFactory;
+import ch14.date.Month;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The public operations of {@code ch14.date}, one date per call.
+ * <P>
+ * Run {@link BenchmarkMain} to include the GC profiler's allocation rate in
+ * the report and to measure each benchmark at 1, 2, 4... threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class DayDateBenchmarks {
+    /** The shared Calendar that {@link DateUtilities#createDate} used before it became lock free. */
+    private static final Calendar CALENDAR = Calendar.getInstance();
+
+    private static synchronized Date calendarCreateDate(int yyyy, int month, int day, int hour, int min) {
+        CALENDAR.clear();
+        CALENDAR.set(yyyy, month - 1, day, hour, min);
+        return CALENDAR.getTime();
+    }
+
+    @Benchmark
+    public DayDate makeDateFromOrdinal(DateData data) {
+        return DayDateFactory.makeDate(data.ordinals[data.next()]);
+    }
+
+    @Benchmark
+    public DayDate makeDateFromDayMonthEnumYear(DateData data) {
+        int i = data.next();
+        return DayDateFactory.makeDate(data.days[i], data.monthEnums[i], data.years[i]);
+    }
+
+    @Benchmark
+    public DayDate makeDateFromDayMonthYear(DateData data) {
+        int i = data.next();
+        return DayDateFactory.makeDate(data.days[i], data.months[i], data.years[i]);
+    }
+
+    @Benchmark
+    public DayDate makeDateFromUtilDate(DateData data) {
+        return DayDateFactory.makeDate(data.utilDates[data.next()]);
+    }
+
+    @Benchmark
+    public DayDate makeDateFromLocalDate(DateData data) {
+        return DayDateFactory.makeDate(data.localDates[data.next()]);
+    }
+
+    @Benchmark
+    public DayDate makeDateFromEpochDay(DateData data) {
+        return DayDateFactory.makeDateFromEpochDay(data.epochDays[data.next()]);
+    }
+
+    @Benchmark
+    public DayDate plusDays(DateData data) {
+        int i = data.next();
+        return data.dates[i].plusDays(data.amounts[i]);
+    }
+
+    @Benchmark
+    public DayDate plusMonths(DateData data) {
+        int i = data.next();
+        return data.dates[i].plusMonths(data.amounts[i]);
+    }
+
+    @Benchmark
+    public DayDate plusYears(DateData data) {
+        int i = data.next();
+        return data.dates[i].plusYears(data.amounts[i]);
+    }
+
+    @Benchmark
+    public Day getDayOfWeek(DateData data) {
+        return data.dates[data.next()].getDayOfWeek();
+    }
+
+    @Benchmark
+    public DayDate getNearestDayOfWeek(DateData data) {
+        int i = data.next();
+        return data.dates[i].getNearestDayOfWeek(data.targetDays[i]);
+    }
+
+    @Benchmark
+    public DayDate getEndOfMonth(DateData data) {
+        return data.dates[data.next()].getEndOfMonth();
+    }
+
+    @Benchmark
+    public Month monthParse(DateData data) {
+        return Month.parse(data.monthNames[data.next()]);
+    }
+
+    @Benchmark
+    public Day dayParse(DateData data) {
+        return Day.parse(data.dayNames[data.next()]);
+    }
+
+    @Benchmark
+    public Date toDate(DateData data) {
+        return data.dates[data.next()].toDate();
+    }
+
+    @Benchmark
+    public Date createDate(DateData data) {
+        int i = data.next();
+        return DateUtilities.createDate(data.years[i], data.months[i], data.days[i]);
+    }
+
+    @Benchmark
+    public Date createDateWithTime(DateData data) {
+        int i = data.next();
+        return DateUtilities.createDate(data.years[i], data.months[i], data.days[i], 12, 30);
+    }
+
+    /** Baseline for {@link #createDateWithTime}; compare the two as threads are added. */
+    @Benchmark
+    public Date synchronizedCalendarCreateDate(DateData data) {
+        int i = data.next();
+        return calendarCreateDate(data.years[i], data.months[i], data.days[i], 12, 30);
+    }
+
+    @Benchmark
+    public LocalDate toLocalDate(DateData data) {
+        return data.dates[data.next()].toLocalDate();
+    }
+}
@@ -0,0 +1,73 @@
+package ch14.date.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import ch14.date.DayDate;
+import ch14.date.Month;
+import ch14.date.OrdinalDates;
+import ch14.date.SpreadsheetDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link SpreadsheetDate}, which keeps only the ordinal, next to the layout
+ * it replaced, which also kept day, month and year.
+ * <P>
+ * Run through {@link BenchmarkMain}: the GC profiler's
+ * {@code gc.alloc.rate.norm} for the {@code make} benchmarks is the size of
+ * one instance.  The {@code read} benchmarks read the fields of dates that
+ * are already on the heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class FootprintBenchmarks {
+
+    /** The previous layout of {@link SpreadsheetDate}, with every field computed up front. */
+    static final class FieldDate {
+        private static final Month[] MONTHS = Month.values();
+
+        final int ordinalDay;
+        final int day;
+        final Month month;
+        final int year;
+
+        FieldDate(int ordinalDay) {
+            if (!OrdinalDates.isValid(ordinalDay))
+                throw new IllegalArgumentException("Non Valid Ordinal Day");
+            this.ordinalDay = ordinalDay;
+            this.year = OrdinalDates.year(ordinalDay);
+            this.month = MONTHS[OrdinalDates.month(ordinalDay) - 1];
+            this.day = OrdinalDates.dayOfMonth(ordinalDay);
+        }
+    }
+
+    @Benchmark
+    public SpreadsheetDate makeSpreadsheetDate(DateData data) {
+        return new SpreadsheetDate(data.ordinals[data.next()]);
+    }
+
+    @Benchmark
+    public FieldDate makeFieldDate(DateData data) {
+        return new FieldDate(data.ordinals[data.next()]);
+    }
+
+    @Benchmark
+    public int readSpreadsheetDate(DateData data) {
+        DayDate date = data.dates[data.next()];
+        return date.getDayOfMonth() + date.getMonth().index + date.getYear();
+    }
+
+    @Benchmark
+    public int readFieldDate(DateData data) {
+        FieldDate date = data.fieldDates[data.next()];
+        return date.day + date.month.index + date.year;
+    }
+}
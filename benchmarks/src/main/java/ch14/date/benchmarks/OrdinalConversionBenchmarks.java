@@ -0,0 +1,86 @@
+package ch14.date.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import ch14.date.DateUtil;
+import ch14.date.Day;
+import ch14.date.OrdinalDates;
+import ch14.date.SpreadsheetDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The table driven ordinal conversions in {@link OrdinalDates} next to the
+ * searching algorithm they replaced.  The {@code search} benchmarks are the
+ * baseline, kept here so the comparison can still be run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class OrdinalConversionBenchmarks {
+    private static final int[] AGGREGATE_DAYS = {0, 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334, 365};
+    private static final int[] LEAP_AGGREGATE_DAYS = {0, 0, 31, 60, 91, 121, 152, 182, 213, 244, 274, 305, 335, 366};
+
+    @Benchmark
+    public int tableToDate(DateData data) {
+        int ordinal = data.ordinals[data.next()];
+        return OrdinalDates.dayOfMonth(ordinal) + OrdinalDates.month(ordinal) + OrdinalDates.year(ordinal);
+    }
+
+    @Benchmark
+    public int searchToDate(DateData data) {
+        int ordinal = data.ordinals[data.next()];
+        int days = ordinal - SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+        int overEstimatedYear = SpreadsheetDate.MINIMUM_YEAR_SUPPORTED + days / 365;
+        int nonLeapDays = days - DateUtil.leapYearCount(overEstimatedYear);
+        int year = SpreadsheetDate.MINIMUM_YEAR_SUPPORTED + nonLeapDays / 365;
+        while (searchOrdinal(1, 1, year) <= ordinal) year++;
+        year--;
+        int daysIntoYear = ordinal - searchOrdinal(1, 1, year);
+        int[] aggregate = DateUtil.isLeapYear(year) ? LEAP_AGGREGATE_DAYS : AGGREGATE_DAYS;
+        int month = 1;
+        while (aggregate[month + 1] <= daysIntoYear) month++;
+        return daysIntoYear - aggregate[month] + 1 + month + year;
+    }
+
+    @Benchmark
+    public int tableToOrdinal(DateData data) {
+        int i = data.next();
+        return OrdinalDates.ordinal(data.days[i], data.months[i], data.years[i]);
+    }
+
+    @Benchmark
+    public int searchToOrdinal(DateData data) {
+        int i = data.next();
+        return searchOrdinal(data.days[i], data.months[i], data.years[i]);
+    }
+
+    @Benchmark
+    public Day tableDayOfWeek(DateData data) {
+        return OrdinalDates.dayOfWeek(data.ordinals[data.next()]);
+    }
+
+    @Benchmark
+    public Day scanDayOfWeek(DateData data) {
+        int index = (data.ordinals[data.next()] + 6) % 7 + 1;
+        for (Day day : Day.values()) {
+            if (day.index == index) return day;
+        }
+        return null;
+    }
+
+    private static int searchOrdinal(int day, int month, int year) {
+        int leapDaysForYear = DateUtil.leapYearCount(year - 1);
+        int daysUpToYear = (year - SpreadsheetDate.MINIMUM_YEAR_SUPPORTED) * 365 + leapDaysForYear;
+        int daysUpToMonth = AGGREGATE_DAYS[month];
+        if (DateUtil.isLeapYear(year) && month > 2) daysUpToMonth++;
+        return daysUpToYear + daysUpToMonth + day - 1 + SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+    }
+}
@@ -44,6 +44,8 @@
 
 package ch14.date;
 
+import java.util.stream.IntStream;
+
 /**
  * The base class for all 'annual' date rules: that is, rules for generating
  * one date for any given year.
@@ -54,6 +56,9 @@ package ch14.date;
  */
 public abstract class AnnualDateRule implements Cloneable {
 
+    /** Returned by {@link #findOrdinal(int)} for a year in which the rule gives no date. */
+    public static final int NO_DATE = -1;
+
     /**
      * Default constructor.
      */
@@ -69,6 +74,76 @@ public abstract class AnnualDateRule implements Cloneable {
      */
     public abstract DayDate getDate(int year);
 
+    /**
+     * Returns the serial ordinal of the date for this rule, given the year.
+     * <P>
+     * The default implementation calls {@link #getDate(int)}; subclasses can
+     * override it to avoid creating the date.
+     *
+     * @param year  the year (1900 &lt;= year &lt;= 9999).
+     *
+     * @return the serial ordinal of the date for this rule.
+     */
+    public int getOrdinal(int year) {
+        return getDate(year).getOrdinalDay();
+    }
+
+    /**
+     * Returns the serial ordinal of the date for this rule, or {@link #NO_DATE}
+     * if the rule gives no supported date in that year (for example 29
+     * February in a year that is not a leap year).
+     *
+     * @param year  the year.
+     *
+     * @return the serial ordinal, or {@link #NO_DATE}.
+     */
+    public int findOrdinal(int year) {
+        try {
+            int ordinal = getOrdinal(year);
+            return OrdinalDates.isValid(ordinal) ? ordinal : NO_DATE;
+        } catch (IllegalArgumentException e) {
+            return NO_DATE;
+        }
+    }
+
+    /**
+     * Returns the ordinals of the dates for this rule in each year from
+     * {@code fromYear} to {@code toYear} inclusive.  Years in which the rule
+     * gives no date are skipped.
+     *
+     * @param fromYear  the first year.
+     * @param toYear  the last year.
+     *
+     * @return the ordinals, in year order.
+     */
+    public int[] getDates(int fromYear, int toYear) {
+        return getDates(fromYear, toYear, false);
+    }
+
+    /**
+     * Returns the ordinals of the dates for this rule in each year from
+     * {@code fromYear} to {@code toYear} inclusive, optionally evaluating the
+     * years in parallel.  Years in which the rule gives no date are skipped.
+     * Only use {@code parallel} with rules that are safe to call from several
+     * threads.
+     *
+     * @param fromYear  the first year.
+     * @param toYear  the last year.
+     * @param parallel  whether to evaluate the years on the common fork/join pool.
+     *
+     * @return the ordinals, in year order.
+     */
+    public int[] getDates(int fromYear, int toYear, boolean parallel) {
+        if (fromYear > toYear) {
+            throw new IllegalArgumentException("AnnualDateRule.getDates(): fromYear after toYear.");
+        }
+        IntStream years = IntStream.rangeClosed(fromYear, toYear);
+        if (parallel) {
+            years = years.parallel();
+        }
+        return years.map(this::findOrdinal).filter(ordinal -> ordinal != NO_DATE).toArray();
+    }
+
     /**
      * Returns a clone of the rule.
      * <P>
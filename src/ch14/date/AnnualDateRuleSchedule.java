@@ -0,0 +1,207 @@
+package ch14.date;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static ch14.date.SpreadsheetDate.MAXIMUM_YEAR_SUPPORTED;
+import static ch14.date.SpreadsheetDate.MINIMUM_YEAR_SUPPORTED;
+
+/**
+ * Merges the dates of many {@link AnnualDateRule}s into one sequence in date
+ * order.
+ * <P>
+ * A {@link Cursor} keeps one pending date per rule in a min-heap keyed by
+ * serial ordinal.  Each step evaluates only the rule whose date was just
+ * taken, for its next year, so memory and the cost per date depend on the
+ * number of rules and not on the span of years.  Each rule is assumed to
+ * give a later date for a later year; years in which a rule gives no date
+ * are skipped.
+ */
+public class AnnualDateRuleSchedule {
+    private final AnnualDateRule[] rules;
+
+    public AnnualDateRuleSchedule(List<? extends AnnualDateRule> rules) {
+        this.rules = rules.toArray(new AnnualDateRule[0]);
+    }
+
+    public int getRuleCount() {
+        return rules.length;
+    }
+
+    public AnnualDateRule getRule(int index) {
+        return rules[index];
+    }
+
+    /** Returns a cursor positioned before the first date on or after {@code start}. */
+    public Cursor cursor(DayDate start) {
+        return new Cursor(start.getOrdinalDay());
+    }
+
+    public Stream<Occurrence> stream(DayDate start) {
+        Cursor cursor = cursor(start);
+        Iterator<Occurrence> iterator = new Iterator<Occurrence>() {
+            private boolean ready;
+            private boolean more;
+
+            @Override
+            public boolean hasNext() {
+                if (!ready) {
+                    more = cursor.advance();
+                    ready = true;
+                }
+                return more;
+            }
+
+            @Override
+            public Occurrence next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                ready = false;
+                return new Occurrence(cursor.getRuleIndex(), rules[cursor.getRuleIndex()], cursor.getOrdinal());
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /** Returns the next {@code count} dates on or after {@code start}. */
+    public List<Occurrence> next(DayDate start, int count) {
+        List<Occurrence> result = new ArrayList<>(count);
+        Cursor cursor = cursor(start);
+        while (result.size() < count && cursor.advance()) {
+            result.add(new Occurrence(cursor.getRuleIndex(), rules[cursor.getRuleIndex()], cursor.getOrdinal()));
+        }
+        return result;
+    }
+
+    /**
+     * Walks the merged dates without creating objects.  Call
+     * {@link #advance()} before reading the first date.
+     */
+    public final class Cursor {
+        private final int[] heapOrdinal = new int[rules.length];
+        private final int[] heapRule = new int[rules.length];
+        private final int[] heapYear = new int[rules.length];
+        private int size;
+        private int ordinal;
+        private int ruleIndex = -1;
+
+        private Cursor(int start) {
+            int startYear = Math.max(MINIMUM_YEAR_SUPPORTED, OrdinalDates.year(start) - 1);
+            for (int r = 0; r < rules.length; r++) {
+                int year = startYear;
+                int date = rules[r].findOrdinal(year);
+                while (date < start && year < MAXIMUM_YEAR_SUPPORTED) {
+                    date = rules[r].findOrdinal(++year);
+                }
+                if (date >= start) {
+                    heapOrdinal[size] = date;
+                    heapRule[size] = r;
+                    heapYear[size] = year;
+                    size++;
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) siftDown(i);
+        }
+
+        /** Moves to the next date; returns false when no rule has a later date. */
+        public boolean advance() {
+            if (ruleIndex >= 0) {
+                int year = heapYear[0];
+                int date = AnnualDateRule.NO_DATE;
+                while (date == AnnualDateRule.NO_DATE && year < MAXIMUM_YEAR_SUPPORTED) {
+                    date = rules[heapRule[0]].findOrdinal(++year);
+                }
+                if (date != AnnualDateRule.NO_DATE) {
+                    heapOrdinal[0] = date;
+                    heapYear[0] = year;
+                } else {
+                    size--;
+                    heapOrdinal[0] = heapOrdinal[size];
+                    heapRule[0] = heapRule[size];
+                    heapYear[0] = heapYear[size];
+                }
+                siftDown(0);
+            }
+            if (size == 0) {
+                ruleIndex = -1;
+                return false;
+            }
+            ordinal = heapOrdinal[0];
+            ruleIndex = heapRule[0];
+            return true;
+        }
+
+        public int getOrdinal() {
+            return ordinal;
+        }
+
+        public int getRuleIndex() {
+            return ruleIndex;
+        }
+
+        public AnnualDateRule getRule() {
+            return rules[ruleIndex];
+        }
+
+        public DayDate getDate() {
+            return DayDateFactory.makeDate(ordinal);
+        }
+
+        private boolean less(int a, int b) {
+            return heapOrdinal[a] < heapOrdinal[b]
+                    || (heapOrdinal[a] == heapOrdinal[b] && heapRule[a] < heapRule[b]);
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) return;
+                int smallest = left + 1 < size && less(left + 1, left) ? left + 1 : left;
+                if (!less(smallest, i)) return;
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int o = heapOrdinal[a]; heapOrdinal[a] = heapOrdinal[b]; heapOrdinal[b] = o;
+            int r = heapRule[a]; heapRule[a] = heapRule[b]; heapRule[b] = r;
+            int y = heapYear[a]; heapYear[a] = heapYear[b]; heapYear[b] = y;
+        }
+    }
+
+    /** One date produced by one of the rules. */
+    public static final class Occurrence {
+        private final int ruleIndex;
+        private final AnnualDateRule rule;
+        private final int ordinal;
+
+        Occurrence(int ruleIndex, AnnualDateRule rule, int ordinal) {
+            this.ruleIndex = ruleIndex;
+            this.rule = rule;
+            this.ordinal = ordinal;
+        }
+
+        public int getRuleIndex() {
+            return ruleIndex;
+        }
+
+        public AnnualDateRule getRule() {
+            return rule;
+        }
+
+        public int getOrdinal() {
+            return ordinal;
+        }
+
+        public DayDate getDate() {
+            return DayDateFactory.makeDate(ordinal);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ch14.date;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.AnnualDateRule.NO_DATE;
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.MAXIMUM_YEAR_SUPPORTED;
+import static ch14.date.SpreadsheetDate.MINIMUM_YEAR_SUPPORTED;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnnualDateRuleScheduleTest {
+
+    private static DayAndMonthRule leapDay() {
+        DayAndMonthRule rule = new DayAndMonthRule(29, MonthConstants.JANUARY);
+        rule.setMonth(MonthConstants.FEBRUARY);
+        return rule;
+    }
+
+    private static List<AnnualDateRule> rules() {
+        DayAndMonthRule newYearsEve = new DayAndMonthRule(31, MonthConstants.DECEMBER);
+        return Arrays.asList(
+                leapDay(),
+                new DayAndMonthRule(25, MonthConstants.DECEMBER),
+                new RelativeDayOfWeekRule(new DayAndMonthRule(), Day.MONDAY, WeekDayRange.LAST),
+                new RelativeDayOfWeekRule(newYearsEve, Day.MONDAY, WeekDayRange.NEXT),
+                new DayOfWeekInMonthRule(WeekInMonth.LAST, Day.MONDAY, MonthConstants.DECEMBER),
+                new DayAndMonthRule(25, MonthConstants.DECEMBER));
+    }
+
+    /** Every date of every rule, as {ordinal, rule index}, in schedule order. */
+    private static List<int[]> bruteForce(List<AnnualDateRule> rules) {
+        List<int[]> all = new ArrayList<>();
+        for (int r = 0; r < rules.size(); r++) {
+            for (int year = MINIMUM_YEAR_SUPPORTED; year <= MAXIMUM_YEAR_SUPPORTED; year++) {
+                int ordinal = rules.get(r).findOrdinal(year);
+                if (ordinal != NO_DATE) all.add(new int[] {ordinal, r});
+            }
+        }
+        all.sort(Comparator.<int[]>comparingInt(a -> a[0]).thenComparingInt(a -> a[1]));
+        return all;
+    }
+
+    private static List<int[]> from(List<int[]> all, int start, int count) {
+        return all.stream().filter(a -> a[0] >= start).limit(count).collect(Collectors.toList());
+    }
+
+    private static void assertOccurrences(List<int[]> expected, List<AnnualDateRuleSchedule.Occurrence> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i)[0], actual.get(i).getOrdinal());
+            assertEquals(expected.get(i)[1], actual.get(i).getRuleIndex());
+        }
+    }
+
+    @Test
+    public void testMergedOrderMatchesBruteForce() throws Exception {
+        List<AnnualDateRule> rules = rules();
+        AnnualDateRuleSchedule schedule = new AnnualDateRuleSchedule(rules);
+        List<int[]> all = bruteForce(rules);
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            int start = EARLIEST_DATE_ORDINAL + random.nextInt(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL + 1);
+            DayDate date = DayDateFactory.makeDate(start);
+            assertOccurrences(from(all, start, 50), schedule.next(date, 50));
+            assertOccurrences(from(all, start, 50), schedule.stream(date).limit(50).collect(Collectors.toList()));
+        }
+        assertOccurrences(all, schedule.stream(DayDateFactory.makeDate(EARLIEST_DATE_ORDINAL)).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testCursorSkipsNoDateYearsNearTheEnd() throws Exception {
+        List<AnnualDateRule> rules = rules();
+        AnnualDateRuleSchedule schedule = new AnnualDateRuleSchedule(rules);
+        List<int[]> all = bruteForce(rules);
+        int start = OrdinalDates.ordinal(1, 3, 9996);
+        AnnualDateRuleSchedule.Cursor cursor = schedule.cursor(DayDateFactory.makeDate(start));
+        for (int[] expected : from(all, start, Integer.MAX_VALUE)) {
+            assertTrue(cursor.advance());
+            assertEquals(expected[0], cursor.getOrdinal());
+            assertEquals(expected[1], cursor.getRuleIndex());
+            assertSame(rules.get(expected[1]), cursor.getRule());
+            assertEquals(expected[0], cursor.getDate().getOrdinalDay());
+            assertNotEquals(0, cursor.getRuleIndex(), "no leap day after 9996");
+        }
+        assertFalse(cursor.advance());
+        assertFalse(cursor.advance());
+        assertEquals(-1, cursor.getRuleIndex());
+
+        DayDate last = DayDateFactory.makeDate(LATEST_DATE_ORDINAL);
+        assertTrue(schedule.next(last, 10).isEmpty());
+        assertEquals(0, schedule.stream(last).count());
+    }
+
+    @Test
+    public void testEqualDatesAreOrderedByRule() throws Exception {
+        List<AnnualDateRule> rules = rules();
+        AnnualDateRuleSchedule schedule = new AnnualDateRuleSchedule(rules);
+        List<AnnualDateRuleSchedule.Occurrence> christmas = schedule.next(DayDateFactory.makeDate(25, 12, 2024), 2);
+        assertEquals(1, christmas.get(0).getRuleIndex());
+        assertEquals(5, christmas.get(1).getRuleIndex());
+        assertEquals(christmas.get(0).getDate(), christmas.get(1).getDate());
+        assertSame(rules.get(5), christmas.get(1).getRule());
+        // 25 December 2023 is a Monday, so four rules fall on it.
+        assertEquals(Arrays.asList(1, 2, 4, 5), schedule.stream(DayDateFactory.makeDate(25, 12, 2023)).limit(4)
+                .map(AnnualDateRuleSchedule.Occurrence::getRuleIndex).collect(Collectors.toList()));
+        assertEquals(rules.size(), schedule.getRuleCount());
+        assertSame(rules.get(3), schedule.getRule(3));
+    }
+
+    @Test
+    public void testEmptySchedule() throws Exception {
+        AnnualDateRuleSchedule schedule = new AnnualDateRuleSchedule(new ArrayList<AnnualDateRule>());
+        assertFalse(schedule.cursor(DayDateFactory.makeDate(1, 1, 2000)).advance());
+        assertTrue(schedule.next(DayDateFactory.makeDate(1, 1, 2000), 5).isEmpty());
+    }
+}
@@ -0,0 +1,145 @@
+package ch14.date;
+
+import java.util.Arrays;
+
+/**
+ * Per-bucket count, sum, minimum and maximum produced by
+ * {@link CalendarBuckets}.
+ * <P>
+ * Results are indexed from 0 to {@link #size()} - 1, covering every bucket
+ * from the first to the last one that held a date; buckets in between
+ * without dates have a count of zero.
+ */
+public abstract class BucketStats {
+    private final CalendarBuckets buckets;
+    private final int firstBucket;
+    final long[] counts;
+
+    BucketStats(CalendarBuckets buckets, int firstBucket, int size) {
+        this.buckets = buckets;
+        this.firstBucket = firstBucket;
+        this.counts = new long[size];
+    }
+
+    public CalendarBuckets getBuckets() {
+        return buckets;
+    }
+
+    public int size() {
+        return counts.length;
+    }
+
+    /** The dense bucket index, as given by {@link CalendarBuckets#bucketOf(int)}, of result {@code i}. */
+    public int getBucket(int i) {
+        return firstBucket + i;
+    }
+
+    /** Ordinal of the first day of result {@code i}. */
+    public int getStartOrdinal(int i) {
+        return buckets.startOf(firstBucket + i);
+    }
+
+    public long getCount(int i) {
+        return counts[i];
+    }
+
+    /** Values with sums, minima and maxima; minima and maxima of empty buckets are infinite. */
+    public static final class OfDouble extends BucketStats {
+        private final double[] sums;
+        private final double[] mins;
+        private final double[] maxs;
+
+        OfDouble(CalendarBuckets buckets, int firstBucket, int size) {
+            super(buckets, firstBucket, size);
+            sums = new double[size];
+            mins = new double[size];
+            maxs = new double[size];
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(int i, double value) {
+            counts[i]++;
+            sums[i] += value;
+            mins[i] = Math.min(mins[i], value);
+            maxs[i] = Math.max(maxs[i], value);
+        }
+
+        OfDouble merge(OfDouble other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+                sums[i] += other.sums[i];
+                mins[i] = Math.min(mins[i], other.mins[i]);
+                maxs[i] = Math.max(maxs[i], other.maxs[i]);
+            }
+            return this;
+        }
+
+        public double getSum(int i) {
+            return sums[i];
+        }
+
+        public double getMin(int i) {
+            return mins[i];
+        }
+
+        public double getMax(int i) {
+            return maxs[i];
+        }
+
+        /** Sum divided by count; NaN for an empty bucket. */
+        public double getMean(int i) {
+            return sums[i] / counts[i];
+        }
+    }
+
+    /**
+     * Values with exact sums: a sum that overflows a {@code long} throws
+     * {@link ArithmeticException} from the aggregation rather than wrapping.
+     * The minimum of an empty bucket is {@link Long#MAX_VALUE} and its
+     * maximum {@link Long#MIN_VALUE}.
+     */
+    public static final class OfLong extends BucketStats {
+        private final long[] sums;
+        private final long[] mins;
+        private final long[] maxs;
+
+        OfLong(CalendarBuckets buckets, int firstBucket, int size) {
+            super(buckets, firstBucket, size);
+            sums = new long[size];
+            mins = new long[size];
+            maxs = new long[size];
+            Arrays.fill(mins, Long.MAX_VALUE);
+            Arrays.fill(maxs, Long.MIN_VALUE);
+        }
+
+        void add(int i, long value) {
+            counts[i]++;
+            sums[i] = Math.addExact(sums[i], value);
+            mins[i] = Math.min(mins[i], value);
+            maxs[i] = Math.max(maxs[i], value);
+        }
+
+        OfLong merge(OfLong other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+                sums[i] = Math.addExact(sums[i], other.sums[i]);
+                mins[i] = Math.min(mins[i], other.mins[i]);
+                maxs[i] = Math.max(maxs[i], other.maxs[i]);
+            }
+            return this;
+        }
+
+        public long getSum(int i) {
+            return sums[i];
+        }
+
+        public long getMin(int i) {
+            return mins[i];
+        }
+
+        public long getMax(int i) {
+            return maxs[i];
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package ch14.date;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.MAXIMUM_YEAR_SUPPORTED;
+import static ch14.date.SpreadsheetDate.MINIMUM_YEAR_SUPPORTED;
+
+/**
+ * Business days between 1900 and 9999, stored as one bit per serial ordinal.
+ * <P>
+ * A running count of business days is kept for every 64 bits.  Counting
+ * business days between two dates is therefore two table reads and two bit
+ * counts.  Finding the n-th business day after a date adds a binary search
+ * over the counts.
+ * <P>
+ * Calendars are immutable.  Calendars for several places are combined with
+ * {@link #allOpen(BusinessDayCalendar...)} and
+ * {@link #anyOpen(BusinessDayCalendar...)}, which work a whole word at a time.
+ */
+public final class BusinessDayCalendar {
+    private static final int WORDS = (LATEST_DATE_ORDINAL >>> 6) + 1;
+
+    /** Bit {@code o % 64} of {@code businessDays[o / 64]} is set when ordinal {@code o} is a business day. */
+    private final long[] businessDays;
+    /** Number of business days before word {@code i}; one extra entry holds the total. */
+    private final int[] rank;
+
+    /**
+     * Creates a calendar in which every weekday outside {@code weekend} is a
+     * business day, except the dates given by the rules and the explicit
+     * holidays.
+     *
+     * @param weekend  the days of the week that are never business days.
+     * @param holidayRules  rules evaluated for every supported year.
+     * @param holidays  further holidays as serial ordinals.
+     */
+    public BusinessDayCalendar(Set<Day> weekend, Collection<? extends AnnualDateRule> holidayRules, int[] holidays) {
+        this(weekdayBits(weekend));
+        for (AnnualDateRule rule : holidayRules) {
+            for (int ordinal : rule.getDates(MINIMUM_YEAR_SUPPORTED, MAXIMUM_YEAR_SUPPORTED)) {
+                SpreadsheetDate.checkOrdinal(ordinal);
+                clear(ordinal);
+            }
+        }
+        for (int ordinal : holidays) {
+            SpreadsheetDate.checkOrdinal(ordinal);
+            clear(ordinal);
+        }
+        computeRank();
+    }
+
+    /** Creates a calendar with Saturday and Sunday as the weekend. */
+    public BusinessDayCalendar(Collection<? extends AnnualDateRule> holidayRules, int[] holidays) {
+        this(EnumSet.of(Day.SATURDAY, Day.SUNDAY), holidayRules, holidays);
+    }
+
+    /** Keeps only bits of supported ordinals, so padding never counts as a business day. */
+    private BusinessDayCalendar(long[] businessDays) {
+        businessDays[0] &= -1L << EARLIEST_DATE_ORDINAL;
+        businessDays[WORDS - 1] &= -1L >>> (63 - (LATEST_DATE_ORDINAL & 63));
+        this.businessDays = businessDays;
+        this.rank = new int[WORDS + 1];
+        computeRank();
+    }
+
+    private static long[] weekdayBits(Set<Day> weekend) {
+        long[] bits = new long[WORDS];
+        for (int ordinal = EARLIEST_DATE_ORDINAL; ordinal <= LATEST_DATE_ORDINAL; ordinal++) {
+            if (!weekend.contains(OrdinalDates.dayOfWeek(ordinal))) bits[ordinal >>> 6] |= 1L << ordinal;
+        }
+        return bits;
+    }
+
+    private void clear(int ordinal) {
+        businessDays[ordinal >>> 6] &= ~(1L << ordinal);
+    }
+
+    private void computeRank() {
+        for (int i = 0; i < WORDS; i++) {
+            rank[i + 1] = rank[i] + Long.bitCount(businessDays[i]);
+        }
+    }
+
+    /** Returns a calendar whose business days are business days in every given calendar. */
+    public static BusinessDayCalendar allOpen(BusinessDayCalendar... calendars) {
+        long[] bits = new long[WORDS];
+        Arrays.fill(bits, -1L);
+        for (BusinessDayCalendar calendar : calendars) {
+            for (int i = 0; i < WORDS; i++) bits[i] &= calendar.businessDays[i];
+        }
+        return new BusinessDayCalendar(bits);
+    }
+
+    /** Returns a calendar whose business days are business days in at least one given calendar. */
+    public static BusinessDayCalendar anyOpen(BusinessDayCalendar... calendars) {
+        long[] bits = new long[WORDS];
+        for (BusinessDayCalendar calendar : calendars) {
+            for (int i = 0; i < WORDS; i++) bits[i] |= calendar.businessDays[i];
+        }
+        return new BusinessDayCalendar(bits);
+    }
+
+    /** @throws IllegalArgumentException if the ordinal is outside the supported range. */
+    public boolean isBusinessDay(int ordinal) {
+        SpreadsheetDate.checkOrdinal(ordinal);
+        return (businessDays[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    public boolean isBusinessDay(DayDate date) {
+        return isBusinessDay(date.getOrdinalDay());
+    }
+
+    /** Number of business days before the given ordinal. */
+    private int rank(int ordinal) {
+        int word = ordinal >>> 6;
+        return rank[word] + Long.bitCount(businessDays[word] & ((1L << ordinal) - 1));
+    }
+
+    /** Ordinal of the business day preceded by {@code k} business days. */
+    private int select(int k) {
+        if (k < 0 || k >= rank[WORDS])
+            throw new IllegalArgumentException("No Business Day In Range");
+        int lo = 0;
+        int hi = WORDS;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (rank[mid] <= k) lo = mid + 1;
+            else hi = mid;
+        }
+        int word = lo - 1;
+        long bits = businessDays[word];
+        for (int skip = k - rank[word]; skip > 0; skip--) bits &= bits - 1;
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Number of business days {@code d} with {@code start <= d < end}; negative
+     * when {@code end} is before {@code start}.
+     *
+     * @throws IllegalArgumentException if either ordinal is outside the supported range.
+     */
+    public int businessDaysBetween(int start, int end) {
+        SpreadsheetDate.checkOrdinal(start);
+        SpreadsheetDate.checkOrdinal(end);
+        return rank(end) - rank(start);
+    }
+
+    public int businessDaysBetween(DayDate start, DayDate end) {
+        return businessDaysBetween(start.getOrdinalDay(), end.getOrdinalDay());
+    }
+
+    /**
+     * Moves {@code days} business days forward (or backward when negative).
+     * Adding zero returns the ordinal unchanged.
+     *
+     * @throws IllegalArgumentException if the ordinal or the result is outside
+     *         the supported range.
+     */
+    public int plusBusinessDays(int ordinal, int days) {
+        SpreadsheetDate.checkOrdinal(ordinal);
+        if (days > 0) return select(rank(ordinal + 1) + days - 1);
+        if (days < 0) return select(rank(ordinal) + days);
+        return ordinal;
+    }
+
+    public DayDate plusBusinessDays(DayDate date, int days) {
+        return DayDateFactory.makeDate(plusBusinessDays(date.getOrdinalDay(), days));
+    }
+
+    /** Returns the first business day after the ordinal. */
+    public int nextBusinessDay(int ordinal) {
+        return plusBusinessDays(ordinal, 1);
+    }
+
+    public DayDate nextBusinessDay(DayDate date) {
+        return plusBusinessDays(date, 1);
+    }
+
+    /** Returns the last business day before the ordinal. */
+    public int previousBusinessDay(int ordinal) {
+        return plusBusinessDays(ordinal, -1);
+    }
+
+    public DayDate previousBusinessDay(DayDate date) {
+        return plusBusinessDays(date, -1);
+    }
+}
@@ -0,0 +1,159 @@
+package ch14.date;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessDayCalendarTest {
+
+    private static List<AnnualDateRule> holidayRules() {
+        return Arrays.asList(
+                new DayAndMonthRule(25, MonthConstants.DECEMBER),
+                new DayOfWeekInMonthRule(WeekInMonth.LAST, Day.MONDAY, MonthConstants.MAY),
+                // The Monday before 1 January 1900 is in 1899, so the rule gives no date that year.
+                new RelativeDayOfWeekRule(new DayAndMonthRule(1, MonthConstants.JANUARY), Day.MONDAY, WeekDayRange.LAST));
+    }
+
+    /** Business days worked out one date at a time with java.time. */
+    private static boolean[] bruteForce(int[] holidays) {
+        boolean[] open = new boolean[LATEST_DATE_ORDINAL + 2];
+        for (int ordinal = EARLIEST_DATE_ORDINAL; ordinal <= LATEST_DATE_ORDINAL; ordinal++) {
+            LocalDate date = DayDateFactory.makeDate(ordinal).toLocalDate();
+            boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+            boolean christmas = date.getMonthValue() == 12 && date.getDayOfMonth() == 25;
+            boolean memorialDay = date.getMonthValue() == 5 && date.getDayOfWeek() == DayOfWeek.MONDAY
+                    && date.plusWeeks(1).getMonthValue() == 6;
+            boolean beforeNewYear = date.getDayOfWeek() == DayOfWeek.MONDAY
+                    && date.getMonthValue() == 12 && date.getDayOfMonth() >= 25 && date.getYear() < 9999;
+            open[ordinal] = !weekend && !christmas && !memorialDay && !beforeNewYear;
+        }
+        for (int holiday : holidays) open[holiday] = false;
+        return open;
+    }
+
+    private static int[] prefixCounts(boolean[] open) {
+        int[] counts = new int[open.length + 1];
+        for (int i = 0; i < open.length; i++) counts[i + 1] = counts[i] + (open[i] ? 1 : 0);
+        return counts;
+    }
+
+    private static int step(boolean[] open, int ordinal, int days) {
+        int direction = days > 0 ? 1 : -1;
+        for (int remaining = Math.abs(days); remaining > 0; ) {
+            ordinal += direction;
+            if (open[ordinal]) remaining--;
+        }
+        return ordinal;
+    }
+
+    @Test
+    public void testMatchesBruteForce() throws Exception {
+        int[] holidays = {OrdinalDates.ordinal(4, 7, 2024), OrdinalDates.ordinal(2, 1, 1900), LATEST_DATE_ORDINAL};
+        BusinessDayCalendar calendar = new BusinessDayCalendar(holidayRules(), holidays);
+        boolean[] open = bruteForce(holidays);
+        int[] counts = prefixCounts(open);
+        for (int ordinal = EARLIEST_DATE_ORDINAL; ordinal <= LATEST_DATE_ORDINAL; ordinal++) {
+            if (open[ordinal] != calendar.isBusinessDay(ordinal))
+                fail(DayDateFactory.makeDate(ordinal).toLocalDate().toString());
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int start = EARLIEST_DATE_ORDINAL + random.nextInt(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL + 1);
+            int end = EARLIEST_DATE_ORDINAL + random.nextInt(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL + 1);
+            assertEquals(counts[end] - counts[start], calendar.businessDaysBetween(start, end));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            int start = EARLIEST_DATE_ORDINAL + 1000 + random.nextInt(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL - 2000);
+            int days = random.nextInt(401) - 200;
+            assertEquals(step(open, start, days), calendar.plusBusinessDays(start, days), start + " " + days);
+        }
+    }
+
+    @Test
+    public void testNavigation() throws Exception {
+        BusinessDayCalendar calendar = new BusinessDayCalendar(holidayRules(), new int[0]);
+        DayDate friday = DayDateFactory.makeDate(LocalDate.of(2024, 12, 20));
+        DayDate saturday = friday.plusDays(1);
+        assertEquals(LocalDate.of(2024, 12, 23), calendar.nextBusinessDay(friday).toLocalDate());
+        assertEquals(LocalDate.of(2024, 12, 23), calendar.nextBusinessDay(saturday).toLocalDate());
+        assertEquals(friday, calendar.previousBusinessDay(saturday));
+        assertEquals(LocalDate.of(2024, 12, 24), calendar.plusBusinessDays(friday, 2).toLocalDate());
+        assertEquals(LocalDate.of(2024, 12, 26), calendar.plusBusinessDays(friday, 3).toLocalDate());
+        assertEquals(friday, calendar.plusBusinessDays(friday, 0));
+        assertEquals(saturday, calendar.plusBusinessDays(saturday, 0));
+        assertEquals(friday, calendar.plusBusinessDays(calendar.plusBusinessDays(friday, 10), -10));
+        assertEquals(4, calendar.businessDaysBetween(friday, friday.plusDays(7)));
+        assertEquals(-4, calendar.businessDaysBetween(friday.plusDays(7), friday));
+        assertFalse(calendar.isBusinessDay(DayDateFactory.makeDate(LocalDate.of(2024, 5, 27))));
+        assertFalse(calendar.isBusinessDay(DayDateFactory.makeDate(LocalDate.of(2024, 12, 30))));
+        assertTrue(calendar.isBusinessDay(DayDateFactory.makeDate(LocalDate.of(1900, 1, 1))));
+    }
+
+    @Test
+    public void testEdgesOfSupportedRange() throws Exception {
+        BusinessDayCalendar calendar = new BusinessDayCalendar(Collections.emptyList(), new int[0]);
+        // 1 January 1900 is a Monday and 31 December 9999 a Friday.
+        assertTrue(calendar.isBusinessDay(EARLIEST_DATE_ORDINAL));
+        assertTrue(calendar.isBusinessDay(LATEST_DATE_ORDINAL));
+        assertEquals(EARLIEST_DATE_ORDINAL, calendar.plusBusinessDays(EARLIEST_DATE_ORDINAL + 1, -1));
+        assertEquals(LATEST_DATE_ORDINAL, calendar.plusBusinessDays(LATEST_DATE_ORDINAL - 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> calendar.previousBusinessDay(EARLIEST_DATE_ORDINAL));
+        assertThrows(IllegalArgumentException.class, () -> calendar.nextBusinessDay(LATEST_DATE_ORDINAL));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BusinessDayCalendar(Collections.emptyList(), new int[] {LATEST_DATE_ORDINAL + 1}));
+    }
+
+    @Test
+    public void testOrdinalsOutsideTheRangeAreRejected() throws Exception {
+        BusinessDayCalendar calendar = new BusinessDayCalendar(Collections.emptyList(), new int[0]);
+        for (int ordinal : new int[] {Integer.MIN_VALUE, -1, 0, EARLIEST_DATE_ORDINAL - 1, LATEST_DATE_ORDINAL + 1,
+                LATEST_DATE_ORDINAL + 64, Integer.MAX_VALUE}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> calendar.isBusinessDay(ordinal));
+            assertEquals("Non Valid Ordinal Day", e.getMessage());
+            assertThrows(IllegalArgumentException.class, () -> calendar.businessDaysBetween(ordinal, 40_000));
+            assertThrows(IllegalArgumentException.class, () -> calendar.businessDaysBetween(40_000, ordinal));
+            assertThrows(IllegalArgumentException.class, () -> calendar.plusBusinessDays(ordinal, 0));
+            assertThrows(IllegalArgumentException.class, () -> calendar.nextBusinessDay(ordinal));
+            assertThrows(IllegalArgumentException.class, () -> calendar.previousBusinessDay(ordinal));
+        }
+    }
+
+    @Test
+    public void testCombinedCalendars() throws Exception {
+        int christmas = OrdinalDates.ordinal(25, 12, 2024);
+        int boxingDay = OrdinalDates.ordinal(26, 12, 2024);
+        BusinessDayCalendar first = new BusinessDayCalendar(Collections.emptyList(), new int[] {christmas});
+        BusinessDayCalendar second = new BusinessDayCalendar(
+                EnumSet.of(Day.FRIDAY, Day.SATURDAY), Collections.emptyList(), new int[] {boxingDay});
+        BusinessDayCalendar all = BusinessDayCalendar.allOpen(first, second);
+        BusinessDayCalendar any = BusinessDayCalendar.anyOpen(first, second);
+        for (int ordinal = EARLIEST_DATE_ORDINAL; ordinal <= LATEST_DATE_ORDINAL; ordinal++) {
+            assertEquals(first.isBusinessDay(ordinal) && second.isBusinessDay(ordinal), all.isBusinessDay(ordinal));
+            assertEquals(first.isBusinessDay(ordinal) || second.isBusinessDay(ordinal), any.isBusinessDay(ordinal));
+        }
+        assertFalse(all.isBusinessDay(christmas));
+        assertTrue(any.isBusinessDay(christmas));
+        assertTrue(any.isBusinessDay(boxingDay));
+
+        BusinessDayCalendar never = BusinessDayCalendar.allOpen(first, new BusinessDayCalendar(
+                EnumSet.allOf(Day.class), Collections.emptyList(), new int[0]));
+        assertEquals(0, never.businessDaysBetween(EARLIEST_DATE_ORDINAL, LATEST_DATE_ORDINAL));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> never.previousBusinessDay(2));
+        assertEquals("No Business Day In Range", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> never.nextBusinessDay(40000));
+        assertEquals(0, BusinessDayCalendar.anyOpen().businessDaysBetween(EARLIEST_DATE_ORDINAL, LATEST_DATE_ORDINAL));
+        assertEquals(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL,
+                BusinessDayCalendar.allOpen().businessDaysBetween(EARLIEST_DATE_ORDINAL, LATEST_DATE_ORDINAL));
+    }
+}
@@ -0,0 +1,208 @@
+package ch14.date;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static ch14.date.SpreadsheetDate.MINIMUM_YEAR_SUPPORTED;
+
+/**
+ * Groups dates into weeks, months, quarters or years and aggregates value
+ * columns per group.
+ * <P>
+ * Every bucket has a dense index computed from the ordinal alone: years,
+ * quarters and months are counted from January 1900, and weeks from the
+ * week that holds ordinal 0.  {@link #aggregate(int[], double[])} finds the
+ * first and last bucket present in the column, gives each fork/join task
+ * its own arrays over that span and merges them pairwise.  The number of
+ * tasks is capped so that their arrays together are no larger than the
+ * column.
+ */
+public final class CalendarBuckets {
+    private static final int WEEK = 0;
+    private static final int MONTH = 1;
+    private static final int QUARTER = 2;
+    private static final int YEAR = 3;
+
+    private final int unit;
+    private final Day firstDayOfWeek;
+    /** Days between the start of week 0 and ordinal 0. */
+    private final int weekShift;
+
+    private CalendarBuckets(int unit, Day firstDayOfWeek) {
+        this.unit = unit;
+        this.firstDayOfWeek = firstDayOfWeek;
+        this.weekShift = firstDayOfWeek == null
+                ? 0 : (OrdinalDates.dayOfWeek(0).index - firstDayOfWeek.index + 7) % 7;
+    }
+
+    public static CalendarBuckets weeks(Day firstDayOfWeek) {
+        if (firstDayOfWeek == null)
+            throw new IllegalArgumentException("Non Valid Day");
+        return new CalendarBuckets(WEEK, firstDayOfWeek);
+    }
+
+    public static CalendarBuckets months() {
+        return new CalendarBuckets(MONTH, null);
+    }
+
+    public static CalendarBuckets quarters() {
+        return new CalendarBuckets(QUARTER, null);
+    }
+
+    public static CalendarBuckets years() {
+        return new CalendarBuckets(YEAR, null);
+    }
+
+    /** The day weeks start on, or null if these are not weekly buckets. */
+    public Day getFirstDayOfWeek() {
+        return firstDayOfWeek;
+    }
+
+    public int bucketOf(int ordinal) {
+        switch (unit) {
+            case WEEK:
+                return (ordinal + weekShift) / 7;
+            case MONTH:
+                return 12 * (OrdinalDates.year(ordinal) - MINIMUM_YEAR_SUPPORTED) + OrdinalDates.month(ordinal) - 1;
+            case QUARTER:
+                return 4 * (OrdinalDates.year(ordinal) - MINIMUM_YEAR_SUPPORTED) + (OrdinalDates.month(ordinal) - 1) / 3;
+            default:
+                return OrdinalDates.year(ordinal) - MINIMUM_YEAR_SUPPORTED;
+        }
+    }
+
+    public int bucketOf(DayDate date) {
+        return bucketOf(date.getOrdinalDay());
+    }
+
+    /**
+     * Ordinal of the first day of a bucket.  The first week may start before
+     * the earliest supported date.
+     */
+    public int startOf(int bucket) {
+        switch (unit) {
+            case WEEK:
+                return 7 * bucket - weekShift;
+            case MONTH:
+                return OrdinalDates.ordinal(1, bucket % 12 + 1, MINIMUM_YEAR_SUPPORTED + bucket / 12);
+            case QUARTER:
+                return OrdinalDates.ordinal(1, 3 * (bucket % 4) + 1, MINIMUM_YEAR_SUPPORTED + bucket / 4);
+            default:
+                return OrdinalDates.ordinal(1, 1, MINIMUM_YEAR_SUPPORTED + bucket);
+        }
+    }
+
+    /** Writes the bucket of each date. */
+    public void bucketsOf(int[] ordinals, int[] out) {
+        if (out.length < ordinals.length)
+            throw new IllegalArgumentException("Output Array Too Small");
+        DayDateColumn.forEachChunk(ordinals.length, (from, to) -> {
+            for (int i = from; i < to; i++) out[i] = bucketOf(ordinals[i]);
+        });
+    }
+
+    /**
+     * Sums, counts and finds the minimum and maximum of {@code values[i]} per
+     * bucket of {@code ordinals[i]}.
+     *
+     * @throws IllegalArgumentException if the columns differ in length or an
+     *         ordinal is outside the supported range.
+     */
+    public BucketStats.OfDouble aggregate(int[] ordinals, double[] values) {
+        if (ordinals.length != values.length)
+            throw new IllegalArgumentException("Column Size Mismatch");
+        int[] range = ordinalRange(ordinals);
+        return aggregate(i -> ordinals[i], ordinals.length, range[0], range[1], values);
+    }
+
+    public BucketStats.OfDouble aggregate(DayDateColumn dates, double[] values) {
+        return aggregate(dates.ordinals(), values);
+    }
+
+    /**
+     * Like {@link #aggregate(int[], double[])} with exact {@code long} sums.
+     *
+     * @throws ArithmeticException if a bucket sum overflows a {@code long}.
+     */
+    public BucketStats.OfLong aggregate(int[] ordinals, long[] values) {
+        if (ordinals.length != values.length)
+            throw new IllegalArgumentException("Column Size Mismatch");
+        int[] range = ordinalRange(ordinals);
+        return aggregate(i -> ordinals[i], ordinals.length, range[0], range[1], values);
+    }
+
+    public BucketStats.OfLong aggregate(DayDateColumn dates, long[] values) {
+        return aggregate(dates.ordinals(), values);
+    }
+
+    /**
+     * Aggregates {@code values[i]} per bucket of {@code ordinalAt(i)} for
+     * {@code rows} rows whose ordinals lie between {@code min} and {@code max}.
+     */
+    BucketStats.OfDouble aggregate(IntUnaryOperator ordinalAt, int rows, int min, int max, double[] values) {
+        if (rows == 0) return new BucketStats.OfDouble(this, 0, 0);
+        int first = bucketOf(min);
+        int size = bucketOf(max) - first + 1;
+        return inTasks(rows, size, () -> new BucketStats.OfDouble(this, first, size),
+                (partial, i) -> partial.add(bucketOf(ordinalAt.applyAsInt(i)) - first, values[i]),
+                BucketStats.OfDouble::merge);
+    }
+
+    BucketStats.OfLong aggregate(IntUnaryOperator ordinalAt, int rows, int min, int max, long[] values) {
+        if (rows == 0) return new BucketStats.OfLong(this, 0, 0);
+        int first = bucketOf(min);
+        int size = bucketOf(max) - first + 1;
+        return inTasks(rows, size, () -> new BucketStats.OfLong(this, first, size),
+                (partial, i) -> partial.add(bucketOf(ordinalAt.applyAsInt(i)) - first, values[i]),
+                BucketStats.OfLong::merge);
+    }
+
+    /** Smallest and largest ordinal in a non-empty column. */
+    private static int[] ordinalRange(int[] ordinals) {
+        if (ordinals.length == 0) return new int[] {0, 0};
+        int min = IntStream.of(ordinals).parallel().min().getAsInt();
+        int max = IntStream.of(ordinals).parallel().max().getAsInt();
+        SpreadsheetDate.checkOrdinal(min);
+        SpreadsheetDate.checkOrdinal(max);
+        return new int[] {min, max};
+    }
+
+    /**
+     * Splits the rows between tasks that each fill their own partial result
+     * over the whole bucket span, then merges the partials pairwise.
+     */
+    private static <S> S inTasks(int rows, int span, Supplier<S> empty, ObjIntConsumer<S> addRow,
+                                 BinaryOperator<S> merge) {
+        int tasks = taskCount(rows, span);
+        return IntStream.range(0, tasks).parallel()
+                .mapToObj(t -> {
+                    S partial = empty.get();
+                    for (int i = taskStart(t, tasks, rows), end = taskStart(t + 1, tasks, rows); i < end; i++) {
+                        addRow.accept(partial, i);
+                    }
+                    return partial;
+                })
+                .reduce(merge)
+                .orElseGet(empty);
+    }
+
+    /**
+     * Each task owns arrays as long as the bucket span, so there are no more
+     * tasks than the pool can run at once, and no more than the rows divided
+     * by the span: together the partial results never outgrow the column.
+     * Weekly buckets over a few thousand rows therefore run in one task.
+     */
+    static int taskCount(int rows, int span) {
+        int chunks = (rows + DayDateColumn.PARALLEL_THRESHOLD - 1) / DayDateColumn.PARALLEL_THRESHOLD;
+        int tasks = Math.min(chunks, ForkJoinPool.getCommonPoolParallelism());
+        return Math.max(1, Math.min(tasks, rows / Math.max(1, span)));
+    }
+
+    private static int taskStart(int task, int tasks, int rows) {
+        return (int) ((long) rows * task / tasks);
+    }
+}
@@ -0,0 +1,192 @@
+package ch14.date;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalendarBucketsTest {
+
+    private static DayOfWeek toDayOfWeek(Day day) {
+        return DayOfWeek.of((day.index + 5) % 7 + 1);
+    }
+
+    private static CalendarBuckets[] allBuckets() {
+        return new CalendarBuckets[] {
+                CalendarBuckets.weeks(Day.MONDAY), CalendarBuckets.weeks(Day.SUNDAY), CalendarBuckets.weeks(Day.THURSDAY),
+                CalendarBuckets.months(), CalendarBuckets.quarters(), CalendarBuckets.years()};
+    }
+
+    @Test
+    public void testBucketsMatchJavaTime() throws Exception {
+        LocalDate origin = LocalDate.of(1900, 1, 1);
+        for (Day day : Day.values()) {
+            CalendarBuckets weeks = CalendarBuckets.weeks(day);
+            assertSame(day, weeks.getFirstDayOfWeek());
+            LocalDate firstWeekStart = origin.with(TemporalAdjusters.previousOrSame(toDayOfWeek(day)));
+            for (int ordinal = EARLIEST_DATE_ORDINAL; ordinal <= LATEST_DATE_ORDINAL; ordinal += 5) {
+                LocalDate date = DayDateFactory.makeDate(ordinal).toLocalDate();
+                LocalDate weekStart = date.with(TemporalAdjusters.previousOrSame(toDayOfWeek(day)));
+                int bucket = weeks.bucketOf(ordinal);
+                assertEquals(ChronoUnit.WEEKS.between(firstWeekStart, weekStart),
+                        bucket - weeks.bucketOf(EARLIEST_DATE_ORDINAL));
+                assertEquals(weekStart.toEpochDay(), OrdinalDates.toEpochDay(weeks.startOf(bucket)));
+            }
+        }
+        for (int ordinal = EARLIEST_DATE_ORDINAL; ordinal <= LATEST_DATE_ORDINAL; ordinal += 3) {
+            LocalDate date = DayDateFactory.makeDate(ordinal).toLocalDate();
+            int months = (int) ChronoUnit.MONTHS.between(origin, date.withDayOfMonth(1));
+            assertEquals(months, CalendarBuckets.months().bucketOf(ordinal));
+            assertEquals(months / 3, CalendarBuckets.quarters().bucketOf(ordinal));
+            assertEquals(date.getYear() - 1900, CalendarBuckets.years().bucketOf(ordinal));
+        }
+        assertNull(CalendarBuckets.months().getFirstDayOfWeek());
+        assertThrows(IllegalArgumentException.class, () -> CalendarBuckets.weeks(null));
+    }
+
+    @Test
+    public void testStartOfBoundsEachBucket() throws Exception {
+        Random random = new Random(42);
+        for (CalendarBuckets buckets : allBuckets()) {
+            for (int i = 0; i < 20_000; i++) {
+                int ordinal = EARLIEST_DATE_ORDINAL + random.nextInt(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL - 400);
+                int bucket = buckets.bucketOf(ordinal);
+                assertTrue(buckets.startOf(bucket) <= ordinal);
+                assertTrue(buckets.startOf(bucket + 1) > ordinal);
+                assertEquals(bucket, buckets.bucketOf(buckets.startOf(bucket + 1) - 1));
+                assertEquals(bucket + 1, buckets.bucketOf(buckets.startOf(bucket + 1)));
+            }
+            assertTrue(buckets.startOf(buckets.bucketOf(EARLIEST_DATE_ORDINAL)) <= EARLIEST_DATE_ORDINAL);
+            assertEquals(buckets.bucketOf(LATEST_DATE_ORDINAL), buckets.bucketOf(DayDateFactory.makeDate(LATEST_DATE_ORDINAL)));
+        }
+        assertEquals(0, CalendarBuckets.years().bucketOf(EARLIEST_DATE_ORDINAL));
+        assertEquals(EARLIEST_DATE_ORDINAL, CalendarBuckets.months().startOf(0));
+    }
+
+    @Test
+    public void testAggregateMatchesBruteForce() throws Exception {
+        Random random = new Random(42);
+        int rows = 3 * DayDateColumn.PARALLEL_THRESHOLD + 17;
+        int[] ordinals = new int[rows];
+        double[] doubles = new double[rows];
+        long[] longs = new long[rows];
+        int base = OrdinalDates.ordinal(1, 1, 1990);
+        for (int i = 0; i < rows; i++) {
+            // A gap in the middle leaves empty buckets between the first and last.
+            int day = random.nextInt(6000);
+            ordinals[i] = base + (day < 3000 ? day : day + 2000);
+            longs[i] = random.nextInt(2001) - 1000;
+            doubles[i] = longs[i] / 4.0;
+        }
+        for (CalendarBuckets buckets : allBuckets()) {
+            int first = buckets.bucketOf(base);
+            int last = buckets.bucketOf(base + 7999);
+            int size = last - first + 1;
+            long[] counts = new long[size];
+            long[] sums = new long[size];
+            long[] mins = new long[size];
+            long[] maxs = new long[size];
+            Arrays.fill(mins, Long.MAX_VALUE);
+            Arrays.fill(maxs, Long.MIN_VALUE);
+            int[] bucketOfRow = new int[rows];
+            buckets.bucketsOf(ordinals, bucketOfRow);
+            for (int i = 0; i < rows; i++) {
+                assertEquals(buckets.bucketOf(ordinals[i]), bucketOfRow[i]);
+                int b = bucketOfRow[i] - first;
+                counts[b]++;
+                sums[b] += longs[i];
+                mins[b] = Math.min(mins[b], longs[i]);
+                maxs[b] = Math.max(maxs[b], longs[i]);
+            }
+
+            BucketStats.OfLong ofLong = buckets.aggregate(ordinals, longs);
+            BucketStats.OfDouble ofDouble = buckets.aggregate(new DayDateColumn(ordinals), doubles);
+            assertEquals(size, ofLong.size());
+            assertEquals(size, ofDouble.size());
+            boolean sawEmptyBucket = false;
+            for (int b = 0; b < size; b++) {
+                assertEquals(first + b, ofLong.getBucket(b));
+                assertEquals(buckets.startOf(first + b), ofDouble.getStartOrdinal(b));
+                assertEquals(counts[b], ofLong.getCount(b));
+                assertEquals(counts[b], ofDouble.getCount(b));
+                assertEquals(sums[b], ofLong.getSum(b));
+                assertEquals(mins[b], ofLong.getMin(b));
+                assertEquals(maxs[b], ofLong.getMax(b));
+                if (counts[b] == 0) {
+                    sawEmptyBucket = true;
+                    assertEquals(Double.POSITIVE_INFINITY, ofDouble.getMin(b));
+                    assertEquals(Double.NEGATIVE_INFINITY, ofDouble.getMax(b));
+                    assertTrue(Double.isNaN(ofDouble.getMean(b)));
+                } else {
+                    assertEquals(sums[b] / 4.0, ofDouble.getSum(b));
+                    assertEquals(mins[b] / 4.0, ofDouble.getMin(b));
+                    assertEquals(maxs[b] / 4.0, ofDouble.getMax(b));
+                    assertEquals(sums[b] / 4.0 / counts[b], ofDouble.getMean(b), 1e-9);
+                }
+            }
+            assertTrue(sawEmptyBucket);
+            assertSame(buckets, ofLong.getBuckets());
+        }
+    }
+
+    @Test
+    public void testAggregateEdgeCases() throws Exception {
+        CalendarBuckets months = CalendarBuckets.months();
+        assertEquals(0, months.aggregate(new int[0], new double[0]).size());
+        assertEquals(0, months.aggregate(new int[0], new long[0]).size());
+
+        BucketStats.OfLong single = months.aggregate(new int[] {LATEST_DATE_ORDINAL}, new long[] {5});
+        assertEquals(1, single.size());
+        assertEquals(OrdinalDates.ordinal(1, 12, 9999), single.getStartOrdinal(0));
+        assertEquals(5, single.getSum(0));
+
+        assertThrows(IllegalArgumentException.class, () -> months.aggregate(new int[2], new double[1]));
+        assertThrows(IllegalArgumentException.class, () -> months.aggregate(new int[] {1}, new long[1]));
+        assertThrows(IllegalArgumentException.class,
+                () -> months.aggregate(new int[] {LATEST_DATE_ORDINAL + 1}, new double[1]));
+        assertThrows(IllegalArgumentException.class, () -> months.bucketsOf(new int[2], new int[1]));
+
+        int[] sameDay = {LATEST_DATE_ORDINAL, LATEST_DATE_ORDINAL};
+        assertEquals(Long.MAX_VALUE, months.aggregate(sameDay, new long[] {Long.MAX_VALUE - 1, 1}).getSum(0));
+        assertThrows(ArithmeticException.class, () -> months.aggregate(sameDay, new long[] {Long.MAX_VALUE, 1}));
+        assertThrows(ArithmeticException.class, () -> months.aggregate(sameDay, new long[] {Long.MIN_VALUE, -1}));
+    }
+
+    @Test
+    public void testPartialResultsNeverOutgrowTheColumn() throws Exception {
+        int weeks = CalendarBuckets.weeks(Day.MONDAY).bucketOf(LATEST_DATE_ORDINAL);
+        assertEquals(1, CalendarBuckets.taskCount(4 * DayDateColumn.PARALLEL_THRESHOLD, weeks));
+        assertEquals(1, CalendarBuckets.taskCount(0, 1));
+        for (int rows : new int[] {1, 1000, DayDateColumn.PARALLEL_THRESHOLD + 1, 1 << 22, Integer.MAX_VALUE}) {
+            for (int span : new int[] {1, 12, 4000, weeks}) {
+                int tasks = CalendarBuckets.taskCount(rows, span);
+                assertTrue(tasks >= 1);
+                assertTrue(tasks == 1 || (long) tasks * span <= rows, rows + " rows over " + span);
+            }
+        }
+
+        int[] ordinals = new int[3 * DayDateColumn.PARALLEL_THRESHOLD];
+        long[] values = new long[ordinals.length];
+        Arrays.fill(ordinals, OrdinalDates.ordinal(1, 6, 2000));
+        Arrays.fill(values, 1);
+        ordinals[0] = EARLIEST_DATE_ORDINAL;
+        ordinals[1] = LATEST_DATE_ORDINAL;
+        BucketStats.OfLong stats = CalendarBuckets.weeks(Day.MONDAY).aggregate(ordinals, values);
+        long count = 0;
+        long sum = 0;
+        for (int b = 0; b < stats.size(); b++) {
+            count += stats.getCount(b);
+            sum += stats.getSum(b);
+        }
+        assertEquals(ordinals.length, count);
+        assertEquals(ordinals.length, sum);
+    }
+}
@@ -0,0 +1,97 @@
+package ch14.date;
+
+import java.text.DateFormatSymbols;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Month and weekday names of one locale, read from {@link DateFormatSymbols}
+ * once and kept for the life of the JVM.  Names are looked up
+ * case-insensitively.
+ */
+final class DateNames {
+    private static final ConcurrentHashMap<Locale, DateNames> CACHE = new ConcurrentHashMap<>();
+
+    private final Locale locale;
+    private final String[] monthNames = new String[13];
+    private final String[] shortMonthNames = new String[13];
+    private final String[] weekdayNames = new String[8];
+    private final String[] shortWeekdayNames = new String[8];
+    private final Map<String, Month> monthsByName;
+    private final Map<String, Day> daysByName;
+
+    private DateNames(Locale locale) {
+        this.locale = locale;
+        DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
+        String[] months = symbols.getMonths();
+        String[] shortMonths = symbols.getShortMonths();
+        String[] weekdays = symbols.getWeekdays();
+        String[] shortWeekdays = symbols.getShortWeekdays();
+
+        Map<String, Month> monthMap = new HashMap<>();
+        for (Month m : Month.values()) {
+            monthNames[m.index] = months[m.index - 1];
+            shortMonthNames[m.index] = shortMonths[m.index - 1];
+            putName(monthMap, shortMonthNames[m.index], m);
+            putName(monthMap, monthNames[m.index], m);
+        }
+        Map<String, Day> dayMap = new HashMap<>();
+        for (Day d : Day.values()) {
+            weekdayNames[d.index] = weekdays[d.index];
+            shortWeekdayNames[d.index] = shortWeekdays[d.index];
+            putName(dayMap, shortWeekdayNames[d.index], d);
+            putName(dayMap, weekdayNames[d.index], d);
+        }
+        this.monthsByName = Collections.unmodifiableMap(monthMap);
+        this.daysByName = Collections.unmodifiableMap(dayMap);
+    }
+
+    static DateNames forLocale(Locale locale) {
+        return CACHE.computeIfAbsent(locale, DateNames::new);
+    }
+
+    static DateNames forDefaultLocale() {
+        return forLocale(Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    private <T> void putName(Map<String, T> map, String name, T value) {
+        if (!name.isEmpty()) map.putIfAbsent(fold(name), value);
+    }
+
+    private String fold(String name) {
+        return name.toUpperCase(locale).toLowerCase(locale);
+    }
+
+    Locale getLocale() {
+        return locale;
+    }
+
+    /** Returns the month with the given full or short name, or null. */
+    Month month(String name) {
+        return monthsByName.get(fold(name));
+    }
+
+    /** Returns the day with the given full or short name, or null. */
+    Day day(String name) {
+        return daysByName.get(fold(name));
+    }
+
+    String monthName(Month month) {
+        return monthNames[month.index];
+    }
+
+    String shortMonthName(Month month) {
+        return shortMonthNames[month.index];
+    }
+
+    String weekdayName(Day day) {
+        return weekdayNames[day.index];
+    }
+
+    String shortWeekdayName(Day day) {
+        return shortWeekdayNames[day.index];
+    }
+}
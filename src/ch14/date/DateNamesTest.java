@@ -0,0 +1,58 @@
+package ch14.date;
+
+import java.text.DateFormatSymbols;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateNamesTest {
+    private static final Locale[] LOCALES = {
+            Locale.ENGLISH, Locale.FRENCH, Locale.GERMAN, Locale.KOREAN, Locale.forLanguageTag("tr-TR")};
+
+    @Test
+    public void testMonthParseMatchesDateFormatSymbols() throws Exception {
+        for (Locale locale : LOCALES) {
+            DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
+            for (Month month : Month.values()) {
+                String name = symbols.getMonths()[month.index - 1];
+                String shortName = symbols.getShortMonths()[month.index - 1];
+                assertEquals(month, Month.parse(name, locale), locale + " " + name);
+                assertEquals(month, Month.parse(shortName, locale), locale + " " + shortName);
+                assertEquals(month, Month.parse(" " + name.toUpperCase(locale) + " ", locale));
+                assertEquals(month, Month.parse(shortName.toLowerCase(locale), locale));
+                assertEquals(month, Month.parse(Integer.toString(month.index), locale));
+            }
+        }
+    }
+
+    @Test
+    public void testDayParseMatchesDateFormatSymbols() throws Exception {
+        for (Locale locale : LOCALES) {
+            DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
+            for (Day day : Day.values()) {
+                String name = symbols.getWeekdays()[day.index];
+                String shortName = symbols.getShortWeekdays()[day.index];
+                assertEquals(day, Day.parse(name, locale), locale + " " + name);
+                assertEquals(day, Day.parse(shortName, locale), locale + " " + shortName);
+                assertEquals(day, Day.parse(name.toUpperCase(locale), locale));
+            }
+        }
+    }
+
+    @Test
+    public void testUnknownNamesAreRejected() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> Month.parse("Foo", Locale.ENGLISH));
+        assertThrows(IllegalArgumentException.class, () -> Month.parse("13", Locale.ENGLISH));
+        assertThrows(IllegalArgumentException.class, () -> Day.parse("Foo", Locale.ENGLISH));
+        assertThrows(IllegalArgumentException.class, () -> Day.parse("", Locale.ENGLISH));
+    }
+
+    @Test
+    public void testNamesAreCachedPerLocale() throws Exception {
+        assertSame(DateNames.forLocale(Locale.FRENCH), DateNames.forLocale(Locale.FRENCH));
+        assertEquals(Locale.FRENCH, DateNames.forLocale(Locale.FRENCH).getLocale());
+        assertEquals("janvier", DateNames.forLocale(Locale.FRENCH).monthName(Month.JANUARY));
+    }
+}
@@ -0,0 +1,110 @@
+package ch14.date;
+
+import java.util.Arrays;
+
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+
+/**
+ * Bulk version of {@link DayDate#isInRange(DayDate, DayDate, DateInterval)}
+ * over arrays of serial ordinals.
+ * <P>
+ * The interval is turned into one inclusive range before filtering, so every
+ * {@link DateInterval} mode runs the same two comparisons per date.  When the
+ * {@code jdk.incubator.vector} module is available (start the JVM with
+ * {@code --add-modules jdk.incubator.vector}) those comparisons run on the
+ * Vector API; otherwise a scalar loop is used.
+ */
+public final class DateRangeFilter {
+    static final DateRangeKernel KERNEL = loadKernel();
+
+    private DateRangeFilter() {
+    }
+
+    private static DateRangeKernel loadKernel() {
+        if (!Boolean.getBoolean("ch14.date.disableVector")
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (DateRangeKernel) Class.forName("ch14.date.VectorDateRangeKernel")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError ignored) {
+            }
+        }
+        return ScalarDateRangeKernel.INSTANCE;
+    }
+
+    /** Returns true when the Vector API implementation is in use. */
+    public static boolean isVectorized() {
+        return !(KERNEL instanceof ScalarDateRangeKernel);
+    }
+
+    /**
+     * Writes the indexes of the ordinals that are in range into {@code selection},
+     * in ascending order.
+     *
+     * @param selection  at least {@code ordinals.length} long.
+     *
+     * @return the number of indexes written.
+     */
+    public static int select(int[] ordinals, int d1, int d2, DateInterval interval, int[] selection) {
+        if (selection.length < ordinals.length)
+            throw new IllegalArgumentException("Selection Array Too Small");
+        int lo = lowerBound(d1, d2, interval);
+        int hi = upperBound(d1, d2, interval);
+        if (lo > hi) return 0;
+        return KERNEL.select(ordinals, ordinals.length, lo, hi, selection);
+    }
+
+    /**
+     * Sets bit {@code i % 64} of {@code bits[i / 64]} when {@code ordinals[i]} is in range
+     * and clears it otherwise.
+     *
+     * @param bits  at least {@code (ordinals.length + 63) / 64} long.
+     */
+    public static void mask(int[] ordinals, int d1, int d2, DateInterval interval, long[] bits) {
+        if (bits.length < (ordinals.length + 63) >>> 6)
+            throw new IllegalArgumentException("Bit Array Too Small");
+        int lo = lowerBound(d1, d2, interval);
+        int hi = upperBound(d1, d2, interval);
+        if (lo > hi) {
+            Arrays.fill(bits, 0, (ordinals.length + 63) >>> 6, 0L);
+            return;
+        }
+        KERNEL.mask(ordinals, ordinals.length, lo, hi, bits);
+    }
+
+    public static int select(DayDateColumn column, DayDate d1, DayDate d2, DateInterval interval, int[] selection) {
+        return select(column.ordinals(), d1.getOrdinalDay(), d2.getOrdinalDay(), interval, selection);
+    }
+
+    public static void mask(DayDateColumn column, DayDate d1, DayDate d2, DateInterval interval, long[] bits) {
+        mask(column.ordinals(), d1.getOrdinalDay(), d2.getOrdinalDay(), interval, bits);
+    }
+
+    /**
+     * Smallest supported ordinal inside the interval; the bounds may be given
+     * in either order.  An interval that ends before the supported range
+     * gives a lower bound above its upper bound.
+     */
+    static int lowerBound(int d1, int d2, DateInterval interval) {
+        int left = clamp(Math.min(d1, d2));
+        int lower = interval == DateInterval.CLOSED || interval == DateInterval.CLOSED_LEFT ? left : left + 1;
+        return Math.max(EARLIEST_DATE_ORDINAL, lower);
+    }
+
+    /** Largest supported ordinal inside the interval; the bounds may be given in either order. */
+    static int upperBound(int d1, int d2, DateInterval interval) {
+        int right = clamp(Math.max(d1, d2));
+        int upper = interval == DateInterval.CLOSED || interval == DateInterval.CLOSED_RIGHT ? right : right - 1;
+        return Math.min(LATEST_DATE_ORDINAL, upper);
+    }
+
+    /**
+     * Moves a bound to within one day of the supported range, so that adding
+     * or subtracting the open end's day cannot overflow and an open bound
+     * just outside the range still admits the first or last date.
+     */
+    private static int clamp(int bound) {
+        return Math.max(EARLIEST_DATE_ORDINAL - 1, Math.min(LATEST_DATE_ORDINAL + 1, bound));
+    }
+}
@@ -0,0 +1,116 @@
+package ch14.date;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateRangeFilterTest {
+
+    private static int[] randomOrdinals(int length, int first, int last) {
+        return new Random(length).ints(length, first, last + 1).toArray();
+    }
+
+    private static void checkKernel(DateRangeKernel kernel) {
+        for (int length : new int[] {0, 1, 7, 8, 63, 64, 65, 1000, 4099}) {
+            int[] ordinals = randomOrdinals(length, 40000, 40100);
+            for (DateInterval interval : DateInterval.values()) {
+                int lo = DateRangeFilter.lowerBound(40020, 40080, interval);
+                int hi = DateRangeFilter.upperBound(40020, 40080, interval);
+                int[] selection = new int[length];
+                long[] bits = new long[(length + 63) >>> 6];
+                Arrays.fill(bits, -1L);
+                int count = kernel.select(ordinals, length, lo, hi, selection);
+                kernel.mask(ordinals, length, lo, hi, bits);
+
+                int expected = 0;
+                for (int i = 0; i < length; i++) {
+                    boolean in = OrdinalDates.isInRange(ordinals[i], 40080, 40020, interval);
+                    if (in) assertEquals(i, selection[expected++]);
+                    assertEquals(in, (bits[i >>> 6] & (1L << i)) != 0, "row " + i);
+                }
+                assertEquals(expected, count);
+                if ((length & 63) != 0) assertEquals(0, bits[length >>> 6] >>> (length & 63));
+            }
+        }
+    }
+
+    @Test
+    public void testScalarKernel() throws Exception {
+        checkKernel(ScalarDateRangeKernel.INSTANCE);
+    }
+
+    @Test
+    public void testVectorKernel() throws Exception {
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) return;
+        checkKernel(new VectorDateRangeKernel());
+    }
+
+    @Test
+    public void testSelectMatchesIsInRange() throws Exception {
+        int[] ordinals = randomOrdinals(100_000, EARLIEST_DATE_ORDINAL, LATEST_DATE_ORDINAL);
+        DayDateColumn column = new DayDateColumn(ordinals);
+        DayDate from = DayDateFactory.makeDate(1, 1, 2000);
+        DayDate to = DayDateFactory.makeDate(31, 12, 4999);
+        for (DateInterval interval : DateInterval.values()) {
+            int[] selection = new int[ordinals.length];
+            int count = DateRangeFilter.select(column, to, from, interval, selection);
+            int expected = 0;
+            for (int i = 0; i < ordinals.length; i++) {
+                if (column.get(i).isInRange(from, to, interval)) assertEquals(i, selection[expected++]);
+            }
+            assertEquals(expected, count);
+        }
+    }
+
+    @Test
+    public void testEmptyInterval() throws Exception {
+        int[] ordinals = {40000, 40001, 40002};
+        long[] bits = {-1L};
+        assertEquals(0, DateRangeFilter.select(ordinals, 40001, 40001, DateInterval.OPEN, new int[3]));
+        assertEquals(1, DateRangeFilter.select(ordinals, 40001, 40001, DateInterval.CLOSED, new int[3]));
+        DateRangeFilter.mask(ordinals, 40001, 40002, DateInterval.OPEN, bits);
+        assertEquals(0L, bits[0]);
+    }
+
+    @Test
+    public void testOutputSizeIsChecked() throws Exception {
+        int[] ordinals = new int[65];
+        assertThrows(IllegalArgumentException.class,
+                () -> DateRangeFilter.select(ordinals, 2, 3, DateInterval.CLOSED, new int[64]));
+        assertThrows(IllegalArgumentException.class,
+                () -> DateRangeFilter.mask(ordinals, 2, 3, DateInterval.CLOSED, new long[1]));
+    }
+
+    @Test
+    public void testBoundsAtIntExtremesDoNotWrap() throws Exception {
+        int[] ordinals = {EARLIEST_DATE_ORDINAL, 40_000, LATEST_DATE_ORDINAL};
+        int[] selection = new int[3];
+        int[][] cases = {
+                {Integer.MAX_VALUE, Integer.MAX_VALUE}, {Integer.MIN_VALUE, Integer.MIN_VALUE},
+                {Integer.MIN_VALUE, Integer.MAX_VALUE}, {Integer.MIN_VALUE, 40_000}, {40_000, Integer.MAX_VALUE},
+                {EARLIEST_DATE_ORDINAL - 1, EARLIEST_DATE_ORDINAL}, {LATEST_DATE_ORDINAL, LATEST_DATE_ORDINAL + 1},
+                {LATEST_DATE_ORDINAL + 1, LATEST_DATE_ORDINAL + 2}};
+        for (int[] bounds : cases) {
+            for (DateInterval interval : DateInterval.values()) {
+                int expected = 0;
+                for (int ordinal : ordinals) {
+                    if (interval.isIn(ordinal, Math.min(bounds[0], bounds[1]), Math.max(bounds[0], bounds[1]))) expected++;
+                }
+                String label = bounds[0] + " " + bounds[1] + " " + interval;
+                assertEquals(expected, DateRangeFilter.select(ordinals, bounds[0], bounds[1], interval, selection), label);
+                int lo = DateRangeFilter.lowerBound(bounds[0], bounds[1], interval);
+                int hi = DateRangeFilter.upperBound(bounds[0], bounds[1], interval);
+                if (lo <= hi) {
+                    assertTrue(lo >= EARLIEST_DATE_ORDINAL && hi <= LATEST_DATE_ORDINAL, label);
+                }
+            }
+        }
+        assertEquals(0, DateRangeFilter.select(ordinals, Integer.MAX_VALUE, Integer.MAX_VALUE, DateInterval.OPEN, selection));
+        assertEquals(3, DateRangeFilter.select(ordinals, Integer.MIN_VALUE, Integer.MAX_VALUE, DateInterval.OPEN, selection));
+    }
+}
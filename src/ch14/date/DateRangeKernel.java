@@ -0,0 +1,13 @@
+package ch14.date;
+
+/**
+ * Filters ordinals against an inclusive range {@code [lo, hi]}; the
+ * {@link DateInterval} endpoints are resolved by {@link DateRangeFilter}.
+ */
+interface DateRangeKernel {
+    /** Writes the indexes of matching ordinals into {@code selection} and returns how many matched. */
+    int select(int[] ordinals, int length, int lo, int hi, int[] selection);
+
+    /** Sets bit {@code i} of {@code bits} for every matching ordinal and clears the others. */
+    void mask(int[] ordinals, int length, int lo, int hi, long[] bits);
+}
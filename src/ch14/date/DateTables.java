@@ -0,0 +1,95 @@
+package ch14.date;
+
+import static ch14.date.SpreadsheetDate.AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH;
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LEAP_YEAR_AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH;
+import static ch14.date.SpreadsheetDate.MAXIMUM_YEAR_SUPPORTED;
+import static ch14.date.SpreadsheetDate.MINIMUM_YEAR_SUPPORTED;
+
+/**
+ * Lookup tables for converting between serial ordinals and day/month/year
+ * in constant time.  Every table is built once when the class is loaded and
+ * never changes afterwards.
+ */
+final class DateTables {
+    static final int YEAR_COUNT = MAXIMUM_YEAR_SUPPORTED - MINIMUM_YEAR_SUPPORTED + 1;
+
+    /** Ordinal of 1 January for each supported year, plus one sentinel entry for 1 January 10000. */
+    static final int[] YEAR_START = new int[YEAR_COUNT + 1];
+
+    /** Month index (1..12) for each zero based day of a normal year and of a leap year. */
+    private static final byte[] MONTH_OF_DAY_IN_YEAR = new byte[365];
+    private static final byte[] LEAP_YEAR_MONTH_OF_DAY_IN_YEAR = new byte[366];
+
+    /** Months and days indexed by their {@code index} field. */
+    static final Month[] MONTHS = new Month[13];
+    static final Day[] DAYS = new Day[8];
+
+    /** Day of week indexed by {@code ordinal % 7}; ordinal zero is a Saturday. */
+    static final Day[] DAY_OF_WEEK = {
+            Day.SATURDAY, Day.SUNDAY, Day.MONDAY, Day.TUESDAY,
+            Day.WEDNESDAY, Day.THURSDAY, Day.FRIDAY
+    };
+
+    static {
+        int ordinal = EARLIEST_DATE_ORDINAL;
+        for (int i = 0; i <= YEAR_COUNT; i++) {
+            YEAR_START[i] = ordinal;
+            ordinal += DateUtil.isLeapYear(MINIMUM_YEAR_SUPPORTED + i) ? 366 : 365;
+        }
+        fillMonthOfDay(MONTH_OF_DAY_IN_YEAR, AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH);
+        fillMonthOfDay(LEAP_YEAR_MONTH_OF_DAY_IN_YEAR, LEAP_YEAR_AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH);
+        for (Month m : Month.values()) MONTHS[m.index] = m;
+        for (Day d : Day.values()) DAYS[d.index] = d;
+    }
+
+    private DateTables() {
+    }
+
+    private static void fillMonthOfDay(byte[] table, int[] aggregateDays) {
+        for (int month = 1; month <= 12; month++) {
+            for (int d = aggregateDays[month]; d < aggregateDays[month + 1]; d++) {
+                table[d] = (byte) month;
+            }
+        }
+    }
+
+    /** Returns the index into {@link #YEAR_START} of the year containing {@code ordinal}. */
+    static int yearIndexOf(int ordinal) {
+        int days = ordinal - EARLIEST_DATE_ORDINAL;
+        int index = (int) (days * 400L / 146097); //400-year average, off by at most one year
+        if (YEAR_START[index] > ordinal) index--;
+        else if (YEAR_START[index + 1] <= ordinal) index++;
+        return index;
+    }
+
+    static int yearOf(int ordinal) {
+        return MINIMUM_YEAR_SUPPORTED + yearIndexOf(ordinal);
+    }
+
+    static boolean isLeapYearIndex(int yearIndex) {
+        return YEAR_START[yearIndex + 1] - YEAR_START[yearIndex] == 366;
+    }
+
+    static int[] aggregateDaysFor(int yearIndex) {
+        return isLeapYearIndex(yearIndex)
+                ? LEAP_YEAR_AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH
+                : AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH;
+    }
+
+    static int monthIndexOf(int yearIndex, int dayOfYear) {
+        return isLeapYearIndex(yearIndex)
+                ? LEAP_YEAR_MONTH_OF_DAY_IN_YEAR[dayOfYear]
+                : MONTH_OF_DAY_IN_YEAR[dayOfYear];
+    }
+
+    /** Returns the ordinal of an already validated day/month/year. */
+    static int ordinalOf(int day, int month, int year) {
+        int yearIndex = year - MINIMUM_YEAR_SUPPORTED;
+        return YEAR_START[yearIndex] + aggregateDaysFor(yearIndex)[month] + day - 1;
+    }
+
+    static Day dayOfWeekOf(int ordinal) {
+        return DAY_OF_WEEK[ordinal % 7];
+    }
+}
@@ -27,4 +27,21 @@ public class DateUtil {
         int leap400 = (year - 1600) / 400;
         return leap4 - leap100 + leap400;
     }
+
+    /**
+     * Returns the number of days from 1970-01-01 to the given date of the
+     * proleptic Gregorian calendar.  Months outside 1..12 and days outside
+     * the month roll over into neighbouring months, as in a lenient Calendar.
+     */
+    public static long epochDay(int year, int month, int day) {
+        long y = year + Math.floorDiv(month - 1, 12);
+        int m = Math.floorMod(month - 1, 12) + 1;
+        if(m <= 2) y--;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        int monthFromMarch = (m + 9) % 12;
+        long dayOfYear = (153 * monthFromMarch + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
 }
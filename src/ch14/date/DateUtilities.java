@@ -43,7 +43,6 @@
 
 package ch14.date;
 
-import java.util.Calendar;
 import java.util.Date;
 
 /**
@@ -59,11 +58,8 @@ public class DateUtilities {
     private DateUtilities() {
     }
 
-    /** A working calendar. */
-    private static final Calendar CALENDAR = Calendar.getInstance();
-
     /**
-     * Creates a date.
+     * Creates a date at midnight in the default time zone.
      *
      * @param yyyy  the year.
      * @param month  the month (1 - 12).
@@ -71,14 +67,17 @@ public class DateUtilities {
      *
      * @return a date.
      */
-    public static synchronized Date createDate(final int yyyy, final int month, final int day) {
-        CALENDAR.clear();
-        CALENDAR.set(yyyy, month - 1, day);
-        return CALENDAR.getTime();
+    public static Date createDate(final int yyyy, final int month, final int day) {
+        return createDate(yyyy, month, day, 0, 0);
     }
 
     /**
-     * Creates a date.
+     * Creates a date in the default time zone.
+     * <P>
+     * The instant is computed arithmetically, without a shared Calendar, so
+     * this method needs no lock.  Out of range fields roll over as with a
+     * lenient Calendar; years before 1582 are proleptic Gregorian rather than
+     * Julian.
      *
      * @param yyyy  the year.
      * @param month  the month (1 - 12).
@@ -88,13 +87,10 @@ public class DateUtilities {
      *
      * @return a date.
      */
-    public static synchronized Date createDate(final int yyyy, final int month, final int day, final int hour, final int min) {
-
-        CALENDAR.clear();
-        CALENDAR.set(yyyy, month - 1, day, hour, min);
-        return CALENDAR.getTime();
-
+    public static Date createDate(final int yyyy, final int month, final int day, final int hour, final int min) {
+        long localMillis = DateUtil.epochDay(yyyy, month, day) * ZoneOffsets.MILLIS_PER_DAY
+                + hour * 3_600_000L + min * 60_000L;
+        return new Date(ZoneOffsets.ofDefault().localToEpochMillis(localMillis));
     }
 
-
 }
@@ -0,0 +1,95 @@
+package ch14.date;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateUtilitiesTest {
+    private static final String[] ZONES = {
+            "UTC", "Asia/Tokyo", "Europe/London", "America/New_York", "America/Sao_Paulo",
+            "Australia/Lord_Howe", "Asia/Kolkata", "Pacific/Apia"};
+
+    private static long calendarCreateDate(int yyyy, int month, int day, int hour, int min) {
+        Calendar calendar = new GregorianCalendar();
+        calendar.clear();
+        calendar.set(yyyy, month - 1, day, hour, min);
+        return calendar.getTimeInMillis();
+    }
+
+    @Test
+    public void testMatchesGregorianCalendarInEachZone() throws Exception {
+        TimeZone saved = TimeZone.getDefault();
+        try {
+            Random random = new Random(42);
+            for (String zone : ZONES) {
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                for (int i = 0; i < 20_000; i++) {
+                    int year = 1900 + random.nextInt(200);
+                    int month = 1 + random.nextInt(12);
+                    int day = 1 + random.nextInt(28);
+                    int hour = random.nextInt(24);
+                    int min = random.nextInt(60);
+                    assertEquals(calendarCreateDate(year, month, day, hour, min),
+                            DateUtilities.createDate(year, month, day, hour, min).getTime(),
+                            zone + " " + year + "-" + month + "-" + day + " " + hour + ":" + min);
+                }
+            }
+        } finally {
+            TimeZone.setDefault(saved);
+        }
+    }
+
+    @Test
+    public void testEveryHourOfThreeYears() throws Exception {
+        TimeZone saved = TimeZone.getDefault();
+        try {
+            for (String zone : ZONES) {
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                for (int year = 2010; year <= 2012; year++) {
+                    for (int month = 1; month <= 12; month++) {
+                        for (int day = 1; day <= 31; day++) {
+                            for (int hour = 0; hour < 24; hour++) {
+                                assertEquals(calendarCreateDate(year, month, day, hour, 30),
+                                        DateUtilities.createDate(year, month, day, hour, 30).getTime());
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            TimeZone.setDefault(saved);
+        }
+    }
+
+    @Test
+    public void testOutOfRangeFieldsRollOver() throws Exception {
+        TimeZone saved = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Europe/Paris"));
+            assertEquals(calendarCreateDate(2000, 13, 1, 0, 0), DateUtilities.createDate(2000, 13, 1).getTime());
+            assertEquals(calendarCreateDate(2000, 3, 0, 0, 0), DateUtilities.createDate(2000, 3, 0).getTime());
+            assertEquals(calendarCreateDate(2000, 1, 1, 25, 61), DateUtilities.createDate(2000, 1, 1, 25, 61).getTime());
+            assertEquals(DateUtilities.createDate(2001, 1, 1).getTime(), DateUtilities.createDate(2000, 13, 1).getTime());
+        } finally {
+            TimeZone.setDefault(saved);
+        }
+    }
+
+    @Test
+    public void testFollowsDefaultZoneChanges() throws Exception {
+        TimeZone saved = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+            long utc = DateUtilities.createDate(2001, 9, 9).getTime();
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            assertEquals(utc - 9 * 3_600_000L, DateUtilities.createDate(2001, 9, 9).getTime());
+        } finally {
+            TimeZone.setDefault(saved);
+        }
+    }
+}
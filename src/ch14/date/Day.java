@@ -1,7 +1,7 @@
 package ch14.date;
 
-import java.text.DateFormatSymbols;
 import java.util.Calendar;
+import java.util.Locale;
 
 public enum Day {
     MONDAY(Calendar.MONDAY)
@@ -13,33 +13,29 @@ public enum Day {
     , SUNDAY(Calendar.SUNDAY);
 
     public final int index;
-    private static DateFormatSymbols dateSymbols = new DateFormatSymbols();
 
     Day(int day){
         this.index = day;
     }
     public static Day fromInt(int index){
-        for(Day d : Day.values()){
-            if(d.index == index)
-                return d;
-        }throw new IllegalArgumentException("No Day");
+        if(index < 1 || index >= DateTables.DAYS.length)
+            throw new IllegalArgumentException("No Day");
+        return DateTables.DAYS[index];
     }
 
     public static Day parse(String s){
-        String[] shortWeekDayNames = dateSymbols.getShortWeekdays();
-        String[] weekDayNames = dateSymbols.getWeekdays();
-
-        s = s.trim();
-        for(Day day : Day.values()){
-            if(s.equalsIgnoreCase(shortWeekDayNames[day.index]) || s.equalsIgnoreCase(weekDayNames[day.index])){
-                return day;
-            }
-        }throw new IllegalArgumentException("No Day");
+        return parse(s, Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    public static Day parse(String s, Locale locale){
+        Day day = DateNames.forLocale(locale).day(s.trim());
+        if(day == null) throw new IllegalArgumentException("No Day");
+        return day;
     }
 
     @Override
     public String toString() {
-        return dateSymbols.getWeekdays()[index];
+        return DateNames.forDefaultLocale().weekdayName(this);
     }
 
     public int toInt(){
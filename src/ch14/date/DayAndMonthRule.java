@@ -140,6 +140,17 @@ public class DayAndMonthRule extends AnnualDateRule {
     }
 
     public DayDate getDate(final int yyyy) {
-        return DayDateFactory.makeDate(this.dayOfMonth, this.month, yyyy);
+        return DayDateFactory.makeDate(getOrdinal(yyyy));
+    }
+
+    /**
+     * Returns the ordinal of the date for this rule, without creating it.
+     *
+     * @param yyyy  the year.
+     *
+     * @return the ordinal of the date for this rule.
+     */
+    public int getOrdinal(final int yyyy) {
+        return OrdinalDates.ordinal(this.dayOfMonth, this.month, yyyy);
     }
 }
@@ -59,14 +59,14 @@
 package ch14.date;
 
 import java.io.Serializable;
-import java.util.Calendar;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
 
 import static ch14.date.DateInterval.CLOSED;
-import static ch14.date.DateUtil.lastDayOfMonth;
 
 
-public abstract class DayDate implements Serializable {
+public abstract sealed class DayDate implements Comparable<DayDate>, Serializable permits SpreadsheetDate {
     public abstract int getOrdinalDay();
     public abstract int getYear();
     public abstract Month getMonth();
@@ -75,70 +75,55 @@ public abstract class DayDate implements Serializable {
     protected abstract Day getDayOfWeekForOrdinalZero();
 
     public DayDate plusDays(int days) {
-        return DayDateFactory.makeDate(getOrdinalDay() + days);
+        return DayDateFactory.makeDate(OrdinalDates.plusDays(getOrdinalDay(), days));
     }
 
     public DayDate plusMonths(int months) {
-        int thisMonthOrdinal = 12 * getYear() + getMonth().index -1 ;
-        int resultMonthAsOrdinal = thisMonthOrdinal + months;
-        int resultYear = resultMonthAsOrdinal / 12;
-        Month resultMonth = Month.make(resultMonthAsOrdinal % 12 + 1);
-
-        int resultDay = correctLastDayOfMonth(getDayOfMonth(), resultMonth, resultYear);
-        //만약에 day가 31일인데 더한 month의 마지막날이 30일경우 더 적은 쪽을 더해야 한다
-        return DayDateFactory.makeDate(resultDay, resultMonth, resultYear);
+        return DayDateFactory.makeDate(OrdinalDates.plusMonths(getOrdinalDay(), months));
     }
 
     public DayDate plusYears(int years) {
-        int resultYear = getYear() + years;
-        int resultDay = correctLastDayOfMonth(getDayOfMonth(), getMonth(), resultYear);
-        return DayDateFactory.makeDate(resultDay, getMonth(), resultYear);
-    }
-
-    private int correctLastDayOfMonth(int day, Month month, int year){
-        int lastDayOfMonth = DateUtil.lastDayOfMonth(month, year);
-        if(day > lastDayOfMonth) day = lastDayOfMonth;
-        return day;
+        return DayDateFactory.makeDate(OrdinalDates.plusYears(getOrdinalDay(), years));
     }
 
     public DayDate getPreviousDayOfWeek(Day targetDayOfWeek) {
-        int offsetToTarget = targetDayOfWeek.index - getDayOfWeek().index;
-        if(offsetToTarget >= 0){
-            offsetToTarget -= 7;
-        }
-        return plusDays(offsetToTarget);
+        return DayDateFactory.makeDate(OrdinalDates.previousDayOfWeek(getOrdinalDay(), targetDayOfWeek));
     }
 
     public DayDate getFollowingDayOfWeek(Day targetDayOfWeek) {
-        int offsetToTarget = targetDayOfWeek.index - getDayOfWeek().index;
-        if(offsetToTarget <= 0){
-            offsetToTarget += 7;
-        }
-        return plusDays(offsetToTarget);
+        return DayDateFactory.makeDate(OrdinalDates.followingDayOfWeek(getOrdinalDay(), targetDayOfWeek));
     }
 
     public DayDate getNearestDayOfWeek(Day targetDay) {
-        int offsetToThisWeeksTarget = targetDay.index - getDayOfWeek().index;
-        int offsetToFutureTarget = (offsetToThisWeeksTarget + 6) % 7;
-        int offsetToPreviousTarget = offsetToFutureTarget - 7;
-        if(offsetToFutureTarget > 3)
-            return plusDays(offsetToPreviousTarget);
-        return plusDays(offsetToFutureTarget);
+        return DayDateFactory.makeDate(OrdinalDates.nearestDayOfWeek(getOrdinalDay(), targetDay));
     }
 
     public DayDate getEndOfMonth() {
-       Month month = getMonth();
-       int year = getYear();
-       int lastDay = lastDayOfMonth(month,year);
-       return DayDateFactory.makeDate(lastDay, month, year);
+        return DayDateFactory.makeDate(OrdinalDates.endOfMonth(getOrdinalDay()));
     }
 
     public Date toDate() {
-        final Calendar calendar = Calendar.getInstance();
-        calendar.set(getYear(), getMonth().toInt() - Month.JANUARY.toInt(),
-                getDayOfMonth(), 0, 0, 0);
-        return calendar.getTime();
+        return toDate(ZoneId.systemDefault());
+    }
+
+    /** Returns the start of this day in the given zone. */
+    public Date toDate(ZoneId zone) {
+        return new Date(toEpochMillis(zone));
+    }
+
+    /** Returns the start of this day in the given zone as milliseconds since 1970-01-01T00:00Z. */
+    public long toEpochMillis(ZoneId zone) {
+        return OrdinalDates.toEpochMillis(getOrdinalDay(), zone);
+    }
+
+    public long toEpochDay() {
+        return OrdinalDates.toEpochDay(getOrdinalDay());
     }
+
+    public LocalDate toLocalDate() {
+        return LocalDate.ofEpochDay(toEpochDay());
+    }
+
     public Day getDayOfWeek(){//요일을 구하는 메서드
         Day startingDay = getDayOfWeekForOrdinalZero(); //일요일이 0일수도 7일수도 있다
         int startingOffset = startingDay.index - Day.SUNDAY.index;
@@ -166,9 +151,23 @@ public abstract class DayDate implements Serializable {
         return isInRange(d1, d2, CLOSED);
     }
     public boolean isInRange(DayDate d1, DayDate d2, DateInterval interval){
-        int left = Math.min(d1.getOrdinalDay(), d2.getOrdinalDay());
-        int right = Math.max(d1.getOrdinalDay(), d2.getOrdinalDay());
-        return interval.isIn(getOrdinalDay(), left, right);
+        return OrdinalDates.isInRange(getOrdinalDay(), d1.getOrdinalDay(), d2.getOrdinalDay(), interval);
+    }
+
+    /** Dates are equal when they have the same serial ordinal, whatever their class. */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof DayDate && ((DayDate) other).getOrdinalDay() == getOrdinalDay();
+    }
+
+    @Override
+    public int hashCode() {
+        return getOrdinalDay();
+    }
+
+    @Override
+    public int compareTo(DayDate other) {
+        return Integer.compare(getOrdinalDay(), other.getOrdinalDay());
     }
 
 }
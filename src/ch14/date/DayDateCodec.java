@@ -0,0 +1,299 @@
+package ch14.date;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary encodings of dates, sorted date sequences and annual date rules.
+ * <P>
+ * A serial ordinal fits in 22 bits, so a single date takes three bytes in
+ * the fixed form and one to four bytes in the varint form (seven bits per
+ * byte, low bits first, high bit set on every byte but the last).  A sorted
+ * sequence is its length and first ordinal followed by the gaps between
+ * neighbours, all as varints, so daily data takes about one byte per date.
+ * Rules are a one-byte tag followed by one byte per field, with
+ * {@link RelativeDayOfWeekRule} and {@link MemoizedAnnualDateRule} followed
+ * by the rule they wrap.  A wrapping rule may itself be wrapped once, so a
+ * rule is at most three deep.
+ * <P>
+ * Every method reads or writes at the buffer's position and advances it.
+ * Malformed input raises {@link IllegalArgumentException}.
+ * {@link SpreadsheetDate} serializes itself through {@link Ser}, which
+ * writes the fixed three-byte form.
+ */
+public final class DayDateCodec {
+    public static final int FIXED_SIZE = 3;
+
+    private static final byte DAY_AND_MONTH_RULE = 1;
+    private static final byte DAY_OF_WEEK_IN_MONTH_RULE = 2;
+    private static final byte RELATIVE_DAY_OF_WEEK_RULE = 3;
+    private static final byte MEMOIZED_RULE = 4;
+    /** Depth of the innermost rule that may still wrap another one. */
+    private static final int MAX_WRAPPER_DEPTH = 1;
+
+    private DayDateCodec() {
+    }
+
+    /** Writes the ordinal in three bytes, high byte first. */
+    public static void writeFixed(ByteBuffer buffer, int ordinal) {
+        SpreadsheetDate.checkOrdinal(ordinal);
+        buffer.put((byte) (ordinal >>> 16));
+        buffer.putShort((short) ordinal);
+    }
+
+    public static void writeFixed(ByteBuffer buffer, DayDate date) {
+        writeFixed(buffer, date.getOrdinalDay());
+    }
+
+    public static int readFixed(ByteBuffer buffer) {
+        require(buffer, FIXED_SIZE);
+        int high = buffer.get() & 0xFF;
+        int ordinal = (high << 16) | (buffer.getShort() & 0xFFFF);
+        SpreadsheetDate.checkOrdinal(ordinal);
+        return ordinal;
+    }
+
+    /** Writes the ordinal as a four-byte int, for callers that need aligned records. */
+    public static void writeFixedInt(ByteBuffer buffer, int ordinal) {
+        SpreadsheetDate.checkOrdinal(ordinal);
+        buffer.putInt(ordinal);
+    }
+
+    public static int readFixedInt(ByteBuffer buffer) {
+        require(buffer, Integer.BYTES);
+        int ordinal = buffer.getInt();
+        SpreadsheetDate.checkOrdinal(ordinal);
+        return ordinal;
+    }
+
+    public static void writeVarint(ByteBuffer buffer, int ordinal) {
+        SpreadsheetDate.checkOrdinal(ordinal);
+        putVarint(buffer, ordinal);
+    }
+
+    public static void writeVarint(ByteBuffer buffer, DayDate date) {
+        writeVarint(buffer, date.getOrdinalDay());
+    }
+
+    public static int readVarint(ByteBuffer buffer) {
+        int ordinal = getVarint(buffer);
+        SpreadsheetDate.checkOrdinal(ordinal);
+        return ordinal;
+    }
+
+    public static DayDate readDate(ByteBuffer buffer) {
+        return DayDateFactory.makeDate(readVarint(buffer));
+    }
+
+    /** Number of bytes {@link #writeVarint(ByteBuffer, int)} writes for the value. */
+    public static int varintSize(int value) {
+        return (31 - Integer.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+
+    /**
+     * Writes ordinals in ascending order (equal neighbours allowed) as a
+     * count, the first ordinal and the gaps.
+     */
+    public static void writeSorted(ByteBuffer buffer, int[] ordinals) {
+        writeSorted(buffer, ordinals, 0, ordinals.length);
+    }
+
+    public static void writeSorted(ByteBuffer buffer, int[] ordinals, int from, int to) {
+        putVarint(buffer, to - from);
+        int previous = 0;
+        for (int i = from; i < to; i++) {
+            SpreadsheetDate.checkOrdinal(ordinals[i]);
+            if (ordinals[i] < previous)
+                throw new IllegalArgumentException("Sequence Not Sorted");
+            putVarint(buffer, ordinals[i] - previous);
+            previous = ordinals[i];
+        }
+    }
+
+    public static void writeSorted(ByteBuffer buffer, DayDateSet dates) {
+        writeSorted(buffer, dates.ordinals().toArray());
+    }
+
+    public static int[] readSorted(ByteBuffer buffer) {
+        int count = getVarint(buffer);
+        if (count > buffer.remaining())
+            throw new IllegalArgumentException("Non Valid Sequence Length");
+        int[] ordinals = new int[count];
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += getVarint(buffer);
+            SpreadsheetDate.checkOrdinal(previous);
+            ordinals[i] = previous;
+        }
+        return ordinals;
+    }
+
+    /**
+     * Writes a {@link DayAndMonthRule}, {@link DayOfWeekInMonthRule},
+     * {@link RelativeDayOfWeekRule} or {@link MemoizedAnnualDateRule}.
+     *
+     * @throws IllegalArgumentException for any other kind of rule, or a
+     *         wrapping rule nested inside two others.
+     */
+    public static void writeRule(ByteBuffer buffer, AnnualDateRule rule) {
+        writeRule(buffer, rule, 0);
+    }
+
+    private static void writeRule(ByteBuffer buffer, AnnualDateRule rule, int depth) {
+        if (depth > MAX_WRAPPER_DEPTH
+                && (rule instanceof RelativeDayOfWeekRule || rule instanceof MemoizedAnnualDateRule))
+            throw new IllegalArgumentException("Non Valid Rule Nesting");
+        if (rule instanceof DayAndMonthRule) {
+            DayAndMonthRule r = (DayAndMonthRule) rule;
+            buffer.put(DAY_AND_MONTH_RULE);
+            buffer.put((byte) r.getDayOfMonth());
+            buffer.put((byte) r.getMonth());
+        } else if (rule instanceof DayOfWeekInMonthRule) {
+            DayOfWeekInMonthRule r = (DayOfWeekInMonthRule) rule;
+            buffer.put(DAY_OF_WEEK_IN_MONTH_RULE);
+            buffer.put((byte) r.getWeekInMonth().index);
+            buffer.put((byte) r.getDayOfWeek().index);
+            buffer.put((byte) r.getMonth());
+        } else if (rule instanceof RelativeDayOfWeekRule) {
+            RelativeDayOfWeekRule r = (RelativeDayOfWeekRule) rule;
+            buffer.put(RELATIVE_DAY_OF_WEEK_RULE);
+            buffer.put((byte) r.getDayOfWeek().index);
+            buffer.put((byte) r.getRelative().index);
+            writeRule(buffer, r.getSubrule(), depth + 1);
+        } else if (rule instanceof MemoizedAnnualDateRule) {
+            buffer.put(MEMOIZED_RULE);
+            writeRule(buffer, ((MemoizedAnnualDateRule) rule).getRule(), depth + 1);
+        } else {
+            throw new IllegalArgumentException("Unsupported Rule");
+        }
+    }
+
+    public static AnnualDateRule readRule(ByteBuffer buffer) {
+        return readRule(buffer, 0);
+    }
+
+    private static AnnualDateRule readRule(ByteBuffer buffer, int depth) {
+        require(buffer, 1);
+        byte tag = buffer.get();
+        if (depth > MAX_WRAPPER_DEPTH && (tag == RELATIVE_DAY_OF_WEEK_RULE || tag == MEMOIZED_RULE))
+            throw new IllegalArgumentException("Non Valid Rule Nesting");
+        switch (tag) {
+            case DAY_AND_MONTH_RULE: {
+                require(buffer, 2);
+                int day = buffer.get();
+                int month = month(buffer.get());
+                return new DayAndMonthRule(day, month);
+            }
+            case DAY_OF_WEEK_IN_MONTH_RULE: {
+                require(buffer, 3);
+                WeekInMonth week = weekInMonth(buffer.get());
+                Day day = Day.fromInt(buffer.get());
+                int month = month(buffer.get());
+                return new DayOfWeekInMonthRule(week, day, month);
+            }
+            case RELATIVE_DAY_OF_WEEK_RULE: {
+                require(buffer, 2);
+                Day day = Day.fromInt(buffer.get());
+                WeekDayRange relative = weekDayRange(buffer.get());
+                return new RelativeDayOfWeekRule(readRule(buffer, depth + 1), day, relative);
+            }
+            case MEMOIZED_RULE:
+                return new MemoizedAnnualDateRule(readRule(buffer, depth + 1));
+            default:
+                throw new IllegalArgumentException("Unsupported Rule");
+        }
+    }
+
+    private static WeekInMonth weekInMonth(int index) {
+        for (WeekInMonth w : WeekInMonth.values()) {
+            if (w.index == index) return w;
+        }
+        throw new IllegalArgumentException("Non Valid Week In Month");
+    }
+
+    private static WeekDayRange weekDayRange(int index) {
+        for (WeekDayRange r : WeekDayRange.values()) {
+            if (r.index == index) return r;
+        }
+        throw new IllegalArgumentException("Non Valid Week Day Range");
+    }
+
+    private static int month(int month) {
+        if (month < 1 || month > 12)
+            throw new IllegalArgumentException("Non Valid Month");
+        return month;
+    }
+
+    private static void require(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() < bytes)
+            throw new IllegalArgumentException("Buffer Underflow");
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /** Reads a varint; values with bit 31 set are not written by this class and are rejected. */
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            require(buffer, 1);
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0)
+                    throw new IllegalArgumentException("Non Valid Varint");
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Non Valid Varint");
+    }
+
+    /**
+     * Serialized form of {@link SpreadsheetDate}: the class name once per
+     * stream and three bytes per date, instead of the default form's four
+     * fields and the {@link Month} enum.  Dates are read back through
+     * {@link DayDateFactory}, so an interning factory returns its shared
+     * instance.
+     */
+    static final class Ser implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        private int ordinal;
+
+        /** For deserialization only. */
+        public Ser() {
+        }
+
+        Ser(int ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeByte(ordinal >>> 16);
+            out.writeShort(ordinal);
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            ordinal = (in.readUnsignedByte() << 16) | in.readUnsignedShort();
+        }
+
+        private Object readResolve() throws InvalidObjectException {
+            try {
+                return DayDateFactory.makeDate(ordinal);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidObjectException(e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package ch14.date;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamConstants;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayDateCodecTest {
+    private static final int[] EDGES = {EARLIEST_DATE_ORDINAL, 127, 128, 16383, 16384, 40000, LATEST_DATE_ORDINAL};
+
+    private static byte[] serialize(Object object) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    @Test
+    public void testSingleDatesRoundTrip() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        for (int ordinal = EARLIEST_DATE_ORDINAL; ordinal <= LATEST_DATE_ORDINAL; ordinal++) {
+            buffer.clear();
+            DayDateCodec.writeFixed(buffer, ordinal);
+            DayDateCodec.writeFixedInt(buffer, ordinal);
+            DayDateCodec.writeVarint(buffer, ordinal);
+            assertEquals(DayDateCodec.FIXED_SIZE + Integer.BYTES + DayDateCodec.varintSize(ordinal), buffer.position());
+            buffer.flip();
+            if (DayDateCodec.readFixed(buffer) != ordinal
+                    || DayDateCodec.readFixedInt(buffer) != ordinal
+                    || DayDateCodec.readVarint(buffer) != ordinal
+                    || buffer.hasRemaining())
+                fail(Integer.toString(ordinal));
+        }
+
+        DayDate date = DayDateFactory.makeDate(9, 9, 2001);
+        buffer.clear();
+        DayDateCodec.writeFixed(buffer, date);
+        DayDateCodec.writeVarint(buffer, date);
+        buffer.flip();
+        assertEquals(date.getOrdinalDay(), DayDateCodec.readFixed(buffer));
+        assertEquals(date, DayDateCodec.readDate(buffer));
+    }
+
+    @Test
+    public void testVarintSize() throws Exception {
+        assertEquals(1, DayDateCodec.varintSize(0));
+        assertEquals(1, DayDateCodec.varintSize(127));
+        assertEquals(2, DayDateCodec.varintSize(128));
+        assertEquals(2, DayDateCodec.varintSize(16383));
+        assertEquals(3, DayDateCodec.varintSize(16384));
+        assertEquals(4, DayDateCodec.varintSize(LATEST_DATE_ORDINAL));
+        for (int ordinal : EDGES) {
+            ByteBuffer buffer = ByteBuffer.allocate(8);
+            DayDateCodec.writeVarint(buffer, ordinal);
+            assertEquals(DayDateCodec.varintSize(ordinal), buffer.position());
+        }
+    }
+
+    @Test
+    public void testSortedSequencesRoundTrip() throws Exception {
+        Random random = new Random(42);
+        int[] daily = new int[10_000];
+        for (int i = 0; i < daily.length; i++) daily[i] = 40_000 + i;
+        int[] spread = new int[5_000];
+        for (int i = 0; i < spread.length; i++) {
+            spread[i] = EARLIEST_DATE_ORDINAL + random.nextInt(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL + 1);
+        }
+        Arrays.sort(spread);
+        int[] withDuplicates = {40_000, 40_000, 40_001, 40_001, LATEST_DATE_ORDINAL};
+        for (int[] ordinals : new int[][] {daily, spread, withDuplicates, EDGES.clone(), new int[0]}) {
+            Arrays.sort(ordinals);
+            ByteBuffer buffer = ByteBuffer.allocate(8 + 4 * ordinals.length);
+            DayDateCodec.writeSorted(buffer, ordinals);
+            buffer.flip();
+            assertArrayEquals(ordinals, DayDateCodec.readSorted(buffer));
+            assertFalse(buffer.hasRemaining());
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(daily.length * 2);
+        DayDateCodec.writeSorted(buffer, daily);
+        assertTrue(buffer.position() < daily.length + 8, "daily data takes about one byte per date");
+
+        buffer.clear();
+        DayDateCodec.writeSorted(buffer, daily, 100, 200);
+        buffer.flip();
+        assertArrayEquals(Arrays.copyOfRange(daily, 100, 200), DayDateCodec.readSorted(buffer));
+
+        DayDateSet set = DayDateSet.of(spread);
+        buffer = ByteBuffer.allocate(4 * spread.length);
+        DayDateCodec.writeSorted(buffer, set);
+        buffer.flip();
+        assertArrayEquals(set.ordinals().toArray(), DayDateCodec.readSorted(buffer));
+    }
+
+    @Test
+    public void testRulesRoundTrip() throws Exception {
+        AnnualDateRule[] rules = {
+                new DayAndMonthRule(25, MonthConstants.DECEMBER),
+                new DayOfWeekInMonthRule(WeekInMonth.LAST, Day.MONDAY, MonthConstants.MAY),
+                new DayOfWeekInMonthRule(WeekInMonth.THIRD, Day.SUNDAY, MonthConstants.JANUARY),
+                new RelativeDayOfWeekRule(new DayAndMonthRule(1, MonthConstants.JANUARY), Day.MONDAY, WeekDayRange.LAST),
+                new RelativeDayOfWeekRule(new RelativeDayOfWeekRule(), Day.SATURDAY, WeekDayRange.NEAREST),
+                new MemoizedAnnualDateRule(new DayOfWeekInMonthRule())};
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        for (AnnualDateRule rule : rules) DayDateCodec.writeRule(buffer, rule);
+        buffer.flip();
+        for (AnnualDateRule rule : rules) {
+            AnnualDateRule read = DayDateCodec.readRule(buffer);
+            assertEquals(rule.getClass(), read.getClass());
+            assertArrayEquals(rule.getDates(1900, 9999), read.getDates(1900, 9999));
+        }
+        assertFalse(buffer.hasRemaining());
+
+        // The stored bytes are fixed codes, not enum ordinals.
+        for (WeekDayRange range : WeekDayRange.values()) {
+            ByteBuffer wire = ByteBuffer.allocate(8);
+            DayDateCodec.writeRule(wire, new RelativeDayOfWeekRule(new DayAndMonthRule(1, MonthConstants.JANUARY), Day.MONDAY, range));
+            int code = range == WeekDayRange.LAST ? 0 : range == WeekDayRange.NEAREST ? 1 : 2;
+            assertArrayEquals(new byte[] {3, 2, (byte) code, 1, 1, 1}, Arrays.copyOf(wire.array(), wire.position()));
+        }
+        AnnualDateRule custom = new AnnualDateRule() {
+            public DayDate getDate(int year) {
+                return DayDateFactory.makeDate(1, 1, year);
+            }
+        };
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.writeRule(ByteBuffer.allocate(8), custom));
+    }
+
+    @Test
+    public void testRuleNestingIsBounded() throws Exception {
+        AnnualDateRule twoDeep = new MemoizedAnnualDateRule(
+                new RelativeDayOfWeekRule(new DayAndMonthRule(25, MonthConstants.DECEMBER), Day.FRIDAY, WeekDayRange.LAST));
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        DayDateCodec.writeRule(buffer, twoDeep);
+        buffer.flip();
+        assertArrayEquals(twoDeep.getDates(1900, 9999), DayDateCodec.readRule(buffer).getDates(1900, 9999));
+
+        AnnualDateRule threeDeep = new MemoizedAnnualDateRule(twoDeep);
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.writeRule(ByteBuffer.allocate(16), threeDeep));
+        assertThrows(IllegalArgumentException.class,
+                () -> DayDateCodec.readRule(ByteBuffer.wrap(new byte[] {4, 4, 4, 1, 25, 12})));
+        byte[] memoizedForever = new byte[1 << 20];
+        Arrays.fill(memoizedForever, (byte) 4);
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.wrap(memoizedForever)));
+    }
+
+    @Test
+    public void testMalformedInputIsRejected() throws Exception {
+        // Out of range ordinals.
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readFixed(ByteBuffer.wrap(new byte[] {0, 0, 0})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readFixed(ByteBuffer.wrap(new byte[] {-1, -1, -1})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readFixedInt(ByteBuffer.wrap(new byte[] {-1, 0, 0, 0})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readVarint(ByteBuffer.wrap(new byte[] {1})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.writeFixed(ByteBuffer.allocate(3), LATEST_DATE_ORDINAL + 1));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.writeVarint(ByteBuffer.allocate(8), 1));
+
+        // Truncated buffers.
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readFixed(ByteBuffer.wrap(new byte[] {0, 1})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readFixedInt(ByteBuffer.wrap(new byte[] {0, 0, 1})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readVarint(ByteBuffer.wrap(new byte[] {(byte) 0x80})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readVarint(ByteBuffer.allocate(0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> DayDateCodec.readVarint(ByteBuffer.wrap(new byte[] {-1, -1, -1, -1, -1, 1})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readSorted(ByteBuffer.wrap(new byte[] {100, 2})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readSorted(ByteBuffer.wrap(new byte[] {2, 2})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.allocate(0)));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.wrap(new byte[] {1, 25})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.wrap(new byte[] {2, 1, 2})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.wrap(new byte[] {3, 2, 0})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.wrap(new byte[] {4})));
+
+        // Bad fields and tags.
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.wrap(new byte[] {1, 1, 13})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.wrap(new byte[] {1, 1, 0})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.wrap(new byte[] {1, 31, 2})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.wrap(new byte[] {2, 5, 2, 1})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.wrap(new byte[] {2, 1, 8, 1})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.wrap(new byte[] {2, 1, 2, 13})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.wrap(new byte[] {3, 2, 3, 1, 1, 1})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.wrap(new byte[] {0})));
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readRule(ByteBuffer.wrap(new byte[] {5, 1, 1})));
+
+        // A five-byte varint with bit 31 set would be a negative gap.
+        ByteBuffer negativeGap = ByteBuffer.allocate(16);
+        negativeGap.put((byte) 2);
+        DayDateCodec.writeVarint(negativeGap, 50_000);
+        for (int value = -10_000, i = 0; i < 5; i++, value >>>= 7) {
+            negativeGap.put((byte) (i < 4 ? (value & 0x7F) | 0x80 : value));
+        }
+        negativeGap.flip();
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.readSorted(negativeGap));
+        assertThrows(IllegalArgumentException.class,
+                () -> DayDateCodec.readVarint(ByteBuffer.wrap(new byte[] {-1, -1, -1, -1, 0x0F})));
+
+        int[] unsorted = {40_001, 40_000};
+        assertThrows(IllegalArgumentException.class, () -> DayDateCodec.writeSorted(ByteBuffer.allocate(16), unsorted));
+    }
+
+    @Test
+    public void testSerializationWritesThreeBytesPerDate() throws Exception {
+        DayDate[] dates = new DayDate[1000];
+        for (int i = 0; i < dates.length; i++) dates[i] = DayDateFactory.makeDate(40_000 + i);
+        DayDate[] read = (DayDate[]) deserialize(serialize(dates));
+        assertArrayEquals(dates, read);
+        int oneDate = serialize(new DayDate[] {dates[0]}).length;
+        // Three bytes of data plus the stream's object, class reference and block markers.
+        assertTrue(serialize(dates).length - oneDate <= 999 * (DayDateCodec.FIXED_SIZE + 9));
+    }
+
+    @Test
+    public void testDeserializationKeepsInterningIdentity() throws Exception {
+        try {
+            DayDateFactory.setInstance(new InterningSpreadsheetDateFactory());
+            DayDate date = DayDateFactory.makeDate(9, 9, 2001);
+            assertSame(date, DayDateFactory.makeDate(9, 9, 2001));
+            assertSame(date, deserialize(serialize(date)));
+        } finally {
+            DayDateFactory.setInstance(new SpreadsheetDateFactory());
+        }
+    }
+
+    @Test
+    public void testCorruptSerializedDateIsRejected() throws Exception {
+        byte[] bytes = serialize(DayDateFactory.makeDate(LATEST_DATE_ORDINAL));
+        // The ordinal is the last three bytes before the end-of-block marker.
+        int at = bytes.length - 4;
+        assertEquals((byte) (LATEST_DATE_ORDINAL >>> 16), bytes[at]);
+        bytes[at] = (byte) 0xFF;
+        assertThrows(InvalidObjectException.class, () -> deserialize(bytes));
+    }
+
+    @Test
+    public void testStreamWithoutProxyIsRejected() throws Exception {
+        // SpreadsheetDate's own class descriptor with an ordinal of 0, as a hand-made stream would carry it.
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeShort(ObjectStreamConstants.STREAM_MAGIC);
+        out.writeShort(ObjectStreamConstants.STREAM_VERSION);
+        out.writeByte(ObjectStreamConstants.TC_OBJECT);
+        out.writeByte(ObjectStreamConstants.TC_CLASSDESC);
+        out.writeUTF(SpreadsheetDate.class.getName());
+        out.writeLong(ObjectStreamClass.lookup(SpreadsheetDate.class).getSerialVersionUID());
+        out.writeByte(ObjectStreamConstants.SC_SERIALIZABLE);
+        out.writeShort(1);
+        out.writeByte('I');
+        out.writeUTF("ordinalDay");
+        out.writeByte(ObjectStreamConstants.TC_ENDBLOCKDATA);
+        out.writeByte(ObjectStreamConstants.TC_NULL);
+        out.writeInt(0);
+        out.flush();
+        InvalidObjectException e = assertThrows(InvalidObjectException.class, () -> deserialize(bytes.toByteArray()));
+        assertEquals("Proxy required", e.getMessage());
+    }
+}
@@ -0,0 +1,172 @@
+package ch14.date;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A column of dates stored as {@link SpreadsheetDate} serial ordinals in an
+ * {@code int[]}.
+ * <P>
+ * The bulk methods mirror the {@link DayDate} methods of the same name and
+ * write one result per date into an output array supplied by the caller.
+ * Columns longer than {@link #PARALLEL_THRESHOLD} are split into chunks that
+ * run on the common fork/join pool.
+ */
+public class DayDateColumn {
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final int[] ordinals;
+
+    /**
+     * Wraps the given ordinals; the array is not copied.
+     *
+     * @throws IllegalArgumentException if an ordinal is outside the supported range.
+     */
+    public DayDateColumn(int[] ordinals) {
+        for (int ordinal : ordinals) {
+            SpreadsheetDate.checkOrdinal(ordinal);
+        }
+        this.ordinals = ordinals;
+    }
+
+    public static DayDateColumn of(List<? extends DayDate> dates) {
+        int[] ordinals = new int[dates.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = dates.get(i).getOrdinalDay();
+        }
+        return new DayDateColumn(ordinals);
+    }
+
+    /**
+     * Creates a column from {@link java.time.LocalDate#toEpochDay()} values.
+     *
+     * @throws IllegalArgumentException if a day is outside the supported range.
+     */
+    public static DayDateColumn ofEpochDays(long[] epochDays) {
+        int[] ordinals = new int[epochDays.length];
+        for (int i = 0; i < epochDays.length; i++) {
+            if (epochDays[i] < OrdinalDates.toEpochDay(SpreadsheetDate.EARLIEST_DATE_ORDINAL)
+                    || epochDays[i] > OrdinalDates.toEpochDay(SpreadsheetDate.LATEST_DATE_ORDINAL))
+                throw new IllegalArgumentException("Non Valid Epoch Day");
+        }
+        OrdinalDates.fromEpochDays(epochDays, ordinals);
+        return new DayDateColumn(ordinals);
+    }
+
+    public int size() {
+        return ordinals.length;
+    }
+
+    public int getOrdinal(int index) {
+        return ordinals[index];
+    }
+
+    public DayDate get(int index) {
+        return DayDateFactory.makeDate(ordinals[index]);
+    }
+
+    /** Returns the backing array, not a copy. */
+    public int[] ordinals() {
+        return ordinals;
+    }
+
+    public void plusDays(int days, int[] out) {
+        checkOutput(out.length);
+        forEachChunk((from, to) -> {
+            for (int i = from; i < to; i++) out[i] = OrdinalDates.plusDays(ordinals[i], days);
+        });
+    }
+
+    public void plusMonths(int months, int[] out) {
+        checkOutput(out.length);
+        forEachChunk((from, to) -> {
+            for (int i = from; i < to; i++) out[i] = OrdinalDates.plusMonths(ordinals[i], months);
+        });
+    }
+
+    public void plusYears(int years, int[] out) {
+        checkOutput(out.length);
+        forEachChunk((from, to) -> {
+            for (int i = from; i < to; i++) out[i] = OrdinalDates.plusYears(ordinals[i], years);
+        });
+    }
+
+    public void getEndOfMonth(int[] out) {
+        checkOutput(out.length);
+        forEachChunk((from, to) -> {
+            for (int i = from; i < to; i++) out[i] = OrdinalDates.endOfMonth(ordinals[i]);
+        });
+    }
+
+    public void toEpochDays(long[] out) {
+        checkOutput(out.length);
+        forEachChunk((from, to) -> {
+            for (int i = from; i < to; i++) out[i] = OrdinalDates.toEpochDay(ordinals[i]);
+        });
+    }
+
+    /** Writes {@link Day#toInt()} of each date. */
+    public void getDayOfWeek(byte[] out) {
+        checkOutput(out.length);
+        forEachChunk((from, to) -> {
+            for (int i = from; i < to; i++) out[i] = (byte) OrdinalDates.dayOfWeek(ordinals[i]).index;
+        });
+    }
+
+    public void getYear(int[] out) {
+        checkOutput(out.length);
+        forEachChunk((from, to) -> {
+            for (int i = from; i < to; i++) out[i] = OrdinalDates.year(ordinals[i]);
+        });
+    }
+
+    /** Writes the month of each date, 1 to 12. */
+    public void getMonth(byte[] out) {
+        checkOutput(out.length);
+        forEachChunk((from, to) -> {
+            for (int i = from; i < to; i++) out[i] = (byte) OrdinalDates.month(ordinals[i]);
+        });
+    }
+
+    /** Writes {@link Month#quarter()} of each date. */
+    public void getQuarter(byte[] out) {
+        checkOutput(out.length);
+        forEachChunk((from, to) -> {
+            for (int i = from; i < to; i++) out[i] = (byte) DateTables.MONTHS[OrdinalDates.month(ordinals[i])].quarter();
+        });
+    }
+
+    /** Writes {@code this[i].daysSince(other[i])}. */
+    public void daysSince(DayDateColumn other, int[] out) {
+        if (other.size() != size())
+            throw new IllegalArgumentException("Column Size Mismatch");
+        checkOutput(out.length);
+        int[] otherOrdinals = other.ordinals;
+        forEachChunk((from, to) -> {
+            for (int i = from; i < to; i++) out[i] = ordinals[i] - otherOrdinals[i];
+        });
+    }
+
+    private void checkOutput(int length) {
+        if (length < ordinals.length)
+            throw new IllegalArgumentException("Output Array Too Small");
+    }
+
+    interface Chunk {
+        void apply(int from, int to);
+    }
+
+    void forEachChunk(Chunk chunk) {
+        forEachChunk(ordinals.length, chunk);
+    }
+
+    static void forEachChunk(int length, Chunk chunk) {
+        if (length < PARALLEL_THRESHOLD) {
+            chunk.apply(0, length);
+            return;
+        }
+        int chunks = (length + PARALLEL_THRESHOLD - 1) / PARALLEL_THRESHOLD;
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                chunk.apply(c * PARALLEL_THRESHOLD, Math.min(length, (c + 1) * PARALLEL_THRESHOLD)));
+    }
+}
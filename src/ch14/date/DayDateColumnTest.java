@@ -0,0 +1,98 @@
+package ch14.date;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayDateColumnTest {
+    // Large enough to run the kernels in parallel chunks.
+    private static final int ROWS = 3 * DayDateColumn.PARALLEL_THRESHOLD + 17;
+
+    private static int[] randomOrdinals(int first, int last) {
+        return new Random(42).ints(ROWS, first, last + 1).toArray();
+    }
+
+    @Test
+    public void testKernelsMatchDayDate() throws Exception {
+        int first = OrdinalDates.ordinal(1, 1, 1910);
+        int last = OrdinalDates.ordinal(31, 12, 9989);
+        DayDateColumn column = new DayDateColumn(randomOrdinals(first, last));
+        int[] plusDays = new int[ROWS];
+        int[] plusMonths = new int[ROWS];
+        int[] plusYears = new int[ROWS];
+        int[] endOfMonth = new int[ROWS];
+        long[] epochDays = new long[ROWS];
+        byte[] dayOfWeek = new byte[ROWS];
+        int[] year = new int[ROWS];
+        byte[] month = new byte[ROWS];
+        byte[] quarter = new byte[ROWS];
+        column.plusDays(-40, plusDays);
+        column.plusMonths(7, plusMonths);
+        column.plusYears(-5, plusYears);
+        column.getEndOfMonth(endOfMonth);
+        column.toEpochDays(epochDays);
+        column.getDayOfWeek(dayOfWeek);
+        column.getYear(year);
+        column.getMonth(month);
+        column.getQuarter(quarter);
+        for (int i = 0; i < ROWS; i++) {
+            DayDate date = column.get(i);
+            assertEquals(date.plusDays(-40).getOrdinalDay(), plusDays[i]);
+            assertEquals(date.plusMonths(7).getOrdinalDay(), plusMonths[i]);
+            assertEquals(date.plusYears(-5).getOrdinalDay(), plusYears[i]);
+            assertEquals(date.getEndOfMonth().getOrdinalDay(), endOfMonth[i]);
+            assertEquals(date.toEpochDay(), epochDays[i]);
+            assertEquals(date.getDayOfWeek().index, dayOfWeek[i]);
+            assertEquals(date.getYear(), year[i]);
+            assertEquals(date.getMonth().index, month[i]);
+            assertEquals(date.getMonth().quarter(), quarter[i]);
+        }
+    }
+
+    @Test
+    public void testDaysSince() throws Exception {
+        DayDateColumn a = new DayDateColumn(randomOrdinals(EARLIEST_DATE_ORDINAL, LATEST_DATE_ORDINAL));
+        DayDateColumn b = new DayDateColumn(new Random(7).ints(ROWS, EARLIEST_DATE_ORDINAL, LATEST_DATE_ORDINAL + 1).toArray());
+        int[] out = new int[ROWS];
+        a.daysSince(b, out);
+        for (int i = 0; i < ROWS; i++) assertEquals(a.get(i).daysSince(b.get(i)), out[i]);
+        assertThrows(IllegalArgumentException.class, () -> a.daysSince(new DayDateColumn(new int[] {2}), out));
+    }
+
+    @Test
+    public void testPlusDaysIsRangeChecked() throws Exception {
+        DayDateColumn column = new DayDateColumn(new int[] {EARLIEST_DATE_ORDINAL, 40000, LATEST_DATE_ORDINAL});
+        int[] out = new int[3];
+        assertThrows(IllegalArgumentException.class, () -> column.plusDays(1, out));
+        assertThrows(IllegalArgumentException.class, () -> column.plusDays(-1, out));
+        assertThrows(IllegalArgumentException.class, () -> column.plusDays(Integer.MAX_VALUE, out));
+        column.plusDays(0, out);
+        assertArrayEquals(column.ordinals(), out);
+    }
+
+    @Test
+    public void testPlusMonthsAndYearsAreRangeChecked() throws Exception {
+        DayDateColumn column = new DayDateColumn(new int[] {LATEST_DATE_ORDINAL});
+        assertThrows(IllegalArgumentException.class, () -> column.plusMonths(1, new int[1]));
+        assertThrows(IllegalArgumentException.class, () -> column.plusYears(1, new int[1]));
+    }
+
+    @Test
+    public void testRejectsInvalidInput() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> new DayDateColumn(new int[] {EARLIEST_DATE_ORDINAL - 1}));
+        assertThrows(IllegalArgumentException.class, () -> new DayDateColumn(new int[] {2, 3}).plusDays(1, new int[1]));
+    }
+
+    @Test
+    public void testOfEpochDays() throws Exception {
+        DayDateColumn column = DayDateColumn.ofEpochDays(new long[] {0, -25567, 2932896});
+        assertEquals(SpreadsheetDate.UNIX_EPOCH_ORDINAL, column.getOrdinal(0));
+        assertEquals(EARLIEST_DATE_ORDINAL, column.getOrdinal(1));
+        assertEquals(LATEST_DATE_ORDINAL, column.getOrdinal(2));
+        assertThrows(IllegalArgumentException.class, () -> DayDateColumn.ofEpochDays(new long[] {-25568}));
+    }
+}
@@ -0,0 +1,68 @@
+package ch14.date;
+
+/**
+ * A map from dates to {@code double} values, indexed directly by serial ordinal
+ * like {@link DayDateMap} but with neither keys nor values boxed.  Missing
+ * keys read as the no-entry value given to the constructor.
+ */
+public class DayDateDoubleMap extends OrdinalKeyedPages<double[]> {
+    private final double noEntryValue;
+
+    public DayDateDoubleMap() {
+        this(0.0);
+    }
+
+    public DayDateDoubleMap(double noEntryValue) {
+        super(double[]::new);
+        this.noEntryValue = noEntryValue;
+    }
+
+    public double getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    public double get(int ordinal) {
+        if (!isPresent(ordinal)) return noEntryValue;
+        return valuePage(ordinal)[slot(ordinal)];
+    }
+
+    public double get(DayDate date) {
+        return get(date.getOrdinalDay());
+    }
+
+    /** Stores the value and returns the one it replaced, or the no-entry value. */
+    public double put(int ordinal, double value) {
+        double previous = get(ordinal);
+        mark(ordinal);
+        valuePage(ordinal)[slot(ordinal)] = value;
+        return previous;
+    }
+
+    public double put(DayDate date, double value) {
+        return put(date.getOrdinalDay(), value);
+    }
+
+    /** Adds {@code delta} to the value, starting from zero for a missing key, and returns the sum. */
+    public double addTo(int ordinal, double delta) {
+        boolean added = mark(ordinal);
+        double[] page = valuePage(ordinal);
+        int slot = slot(ordinal);
+        page[slot] = added ? delta : page[slot] + delta;
+        return page[slot];
+    }
+
+    public double addTo(DayDate date, double delta) {
+        return addTo(date.getOrdinalDay(), delta);
+    }
+
+    /** Removes the ordinal and returns its value, or the no-entry value. */
+    public double remove(int ordinal) {
+        double previous = get(ordinal);
+        unmark(ordinal);
+        return previous;
+    }
+
+    public double remove(DayDate date) {
+        return remove(date.getOrdinalDay());
+    }
+}
@@ -1,5 +1,6 @@
 package ch14.date;
 
+import java.time.LocalDate;
 import java.util.Date;
 
 public abstract class DayDateFactory {
@@ -13,6 +14,17 @@ public abstract class DayDateFactory {
     protected abstract DayDate _makeDate(int day, Month month, int year);
     protected abstract DayDate _makeDate(int day, int month, int year);
     protected abstract DayDate _makeDate(Date date);
+
+    protected DayDate _makeDate(LocalDate date) {
+        return _makeDateFromEpochDay(date.toEpochDay());
+    }
+
+    protected DayDate _makeDateFromEpochDay(long epochDay) {
+        long ordinal = epochDay + SpreadsheetDate.UNIX_EPOCH_ORDINAL;
+        if(ordinal < SpreadsheetDate.EARLIEST_DATE_ORDINAL || ordinal > SpreadsheetDate.LATEST_DATE_ORDINAL)
+            throw new IllegalArgumentException("Non Valid Epoch Day");
+        return _makeDate((int) ordinal);
+    }
     protected abstract int _getMinimumYear();
     protected abstract int _getMaximumYear();
 
@@ -28,6 +40,12 @@ public abstract class DayDateFactory {
     public static DayDate makeDate(Date date){
         return factory._makeDate(date);
     }
+    public static DayDate makeDate(LocalDate date){
+        return factory._makeDate(date);
+    }
+    public static DayDate makeDateFromEpochDay(long epochDay){
+        return factory._makeDateFromEpochDay(epochDay);
+    }
     public static int getMinimumYear(){
         return factory._getMinimumYear();
     }
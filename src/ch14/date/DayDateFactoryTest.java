@@ -0,0 +1,47 @@
+package ch14.date;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayDateFactoryTest {
+
+    @Test
+    public void testLocalDateRoundTripsOverWholeRange() throws Exception {
+        for (LocalDate date = LocalDate.of(1900, 1, 1); date.getYear() < 10000; date = date.plusDays(1)) {
+            DayDate dayDate = DayDateFactory.makeDate(date);
+            if (!date.equals(dayDate.toLocalDate())
+                    || dayDate.getYear() != date.getYear()
+                    || dayDate.getMonth().index != date.getMonthValue()
+                    || dayDate.getDayOfMonth() != date.getDayOfMonth())
+                fail(date.toString());
+        }
+    }
+
+    @Test
+    public void testEpochDays() throws Exception {
+        assertEquals(LocalDate.of(1970, 1, 1), DayDateFactory.makeDateFromEpochDay(0).toLocalDate());
+        assertEquals(LocalDate.of(1900, 1, 1).toEpochDay(), DayDateFactory.makeDate(EARLIEST_DATE_ORDINAL).toEpochDay());
+        assertEquals(LocalDate.of(9999, 12, 31).toEpochDay(), DayDateFactory.makeDate(LATEST_DATE_ORDINAL).toEpochDay());
+
+        int[] ordinals = {EARLIEST_DATE_ORDINAL, 40000, LATEST_DATE_ORDINAL};
+        long[] epochDays = new long[3];
+        int[] back = new int[3];
+        OrdinalDates.toEpochDays(ordinals, epochDays);
+        OrdinalDates.fromEpochDays(epochDays, back);
+        assertArrayEquals(ordinals, back);
+        for (int i = 0; i < ordinals.length; i++) assertEquals(OrdinalDates.toEpochDay(ordinals[i]), epochDays[i]);
+    }
+
+    @Test
+    public void testOutOfRangeDatesAreRejected() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> DayDateFactory.makeDate(LocalDate.of(1899, 12, 31)));
+        assertThrows(IllegalArgumentException.class, () -> DayDateFactory.makeDate(LocalDate.of(10000, 1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> DayDateFactory.makeDateFromEpochDay(Long.MIN_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> DayDateFactory.makeDateFromEpochDay(Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,355 @@
+package ch14.date;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes dates as text without creating strings.
+ * <P>
+ * A pattern is compiled once into a list of fields and literals.  Pattern
+ * letters follow {@link java.text.SimpleDateFormat}: {@code yyyy} (or
+ * {@code y}) is the year and {@code yy} its last two digits; {@code d} and
+ * {@code dd} are the day of the month; {@code M} and {@code MM} are the
+ * month number; {@code MMM} is the short month name and {@code MMMM} the
+ * full name; {@code EEE} is the short weekday name and {@code EEEE} the
+ * full name.  Text in single quotes is copied as is, {@code ''} is a quote,
+ * and any other character that is not a letter is a literal.
+ * <P>
+ * Day, month and year are read from {@link DateTables} once per date and
+ * their digits are written directly.  Month and weekday names come from
+ * {@link DateNames} for the formatter's locale, so formatting allocates
+ * nothing.  Bytes are written as UTF-8.  Formatters are immutable and can
+ * be shared between threads.
+ */
+public final class DayDateFormatter {
+    public static final DayDateFormatter ISO = ofPattern("yyyy-MM-dd");
+    public static final DayDateFormatter BASIC_ISO = ofPattern("yyyyMMdd");
+    public static final DayDateFormatter DAY_MONTH_YEAR = ofPattern("dd/MM/yyyy");
+    public static final DayDateFormatter DAY_MONTH_NAME_YEAR = ofPattern("d MMM yyyy");
+
+    private static final int LITERAL = 0;
+    private static final int YEAR = 1;
+    private static final int YEAR_OF_CENTURY = 2;
+    private static final int MONTH = 3;
+    private static final int DAY = 4;
+    private static final int SHORT_MONTH_NAME = 5;
+    private static final int MONTH_NAME = 6;
+    private static final int SHORT_WEEKDAY_NAME = 7;
+    private static final int WEEKDAY_NAME = 8;
+
+    private final String pattern;
+    private final Locale locale;
+    private final int[] kinds;
+    /** Minimum digits of numeric fields. */
+    private final int[] widths;
+    /** Text of each element: the literal, or one name per month or weekday index. */
+    private final char[][][] chars;
+    private final byte[][][] bytes;
+    private final int maxLength;
+
+    private DayDateFormatter(String pattern, Locale locale, List<Integer> kinds, List<Integer> widths,
+                             List<String> literals) {
+        this.pattern = pattern;
+        this.locale = locale;
+        this.kinds = kinds.stream().mapToInt(Integer::intValue).toArray();
+        this.widths = widths.stream().mapToInt(Integer::intValue).toArray();
+        this.chars = new char[this.kinds.length][][];
+        this.bytes = new byte[this.kinds.length][][];
+        DateNames names = DateNames.forLocale(locale);
+        int length = 0;
+        for (int i = 0; i < this.kinds.length; i++) {
+            String[] texts = textsOf(this.kinds[i], literals.get(i), names);
+            if (texts == null) {
+                length += Math.max(this.widths[i], 4);
+                continue;
+            }
+            chars[i] = new char[texts.length][];
+            bytes[i] = new byte[texts.length][];
+            int longest = 0;
+            for (int t = 0; t < texts.length; t++) {
+                if (texts[t] == null) continue;
+                chars[i][t] = texts[t].toCharArray();
+                bytes[i][t] = texts[t].getBytes(StandardCharsets.UTF_8);
+                longest = Math.max(longest, bytes[i][t].length);
+            }
+            length += longest;
+        }
+        this.maxLength = length;
+    }
+
+    private static String[] textsOf(int kind, String literal, DateNames names) {
+        String[] texts;
+        switch (kind) {
+            case LITERAL:
+                return new String[] {literal};
+            case SHORT_MONTH_NAME:
+            case MONTH_NAME:
+                texts = new String[13];
+                for (int m = 1; m <= 12; m++) {
+                    texts[m] = kind == MONTH_NAME
+                            ? names.monthName(DateTables.MONTHS[m]) : names.shortMonthName(DateTables.MONTHS[m]);
+                }
+                return texts;
+            case SHORT_WEEKDAY_NAME:
+            case WEEKDAY_NAME:
+                texts = new String[8];
+                for (int d = 1; d <= 7; d++) {
+                    texts[d] = kind == WEEKDAY_NAME
+                            ? names.weekdayName(DateTables.DAYS[d]) : names.shortWeekdayName(DateTables.DAYS[d]);
+                }
+                return texts;
+            default:
+                return null;
+        }
+    }
+
+    public static DayDateFormatter ofPattern(String pattern) {
+        return ofPattern(pattern, Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    /**
+     * Compiles a pattern.
+     *
+     * @throws IllegalArgumentException if the pattern uses an unsupported
+     *         letter or has an unclosed quote.
+     */
+    public static DayDateFormatter ofPattern(String pattern, Locale locale) {
+        List<Integer> kinds = new ArrayList<>();
+        List<Integer> widths = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                int close = i + 1;
+                while (true) {
+                    if (close >= pattern.length())
+                        throw new IllegalArgumentException("Non Valid Pattern: " + pattern);
+                    if (pattern.charAt(close) == '\'') {
+                        if (close + 1 < pattern.length() && pattern.charAt(close + 1) == '\'') {
+                            literal.append('\'');
+                            close += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    literal.append(pattern.charAt(close++));
+                }
+                if (close == i + 1) literal.append('\'');
+                i = close + 1;
+                continue;
+            }
+            if (!Character.isLetter(c)) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            int run = 1;
+            while (i + run < pattern.length() && pattern.charAt(i + run) == c) run++;
+            if (literal.length() > 0) {
+                add(kinds, widths, literals, LITERAL, 0, literal.toString());
+                literal.setLength(0);
+            }
+            add(kinds, widths, literals, kindOf(c, run, pattern), run, null);
+            i += run;
+        }
+        if (literal.length() > 0) add(kinds, widths, literals, LITERAL, 0, literal.toString());
+        return new DayDateFormatter(pattern, locale, kinds, widths, literals);
+    }
+
+    private static void add(List<Integer> kinds, List<Integer> widths, List<String> literals,
+                            int kind, int width, String literal) {
+        kinds.add(kind);
+        widths.add(width);
+        literals.add(literal);
+    }
+
+    private static int kindOf(char letter, int run, String pattern) {
+        switch (letter) {
+            case 'y':
+                return run == 2 ? YEAR_OF_CENTURY : YEAR;
+            case 'M':
+                return run <= 2 ? MONTH : run == 3 ? SHORT_MONTH_NAME : MONTH_NAME;
+            case 'd':
+                if (run <= 2) return DAY;
+                break;
+            case 'E':
+                return run <= 3 ? SHORT_WEEKDAY_NAME : WEEKDAY_NAME;
+            default:
+                break;
+        }
+        throw new IllegalArgumentException("Non Valid Pattern: " + pattern);
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /** The most chars, or UTF-8 bytes, that formatting one date can write. */
+    public int maxLength() {
+        return maxLength;
+    }
+
+    public StringBuilder format(int ordinal, StringBuilder out) {
+        write(ordinal, Sink.BUILDER, out, 0);
+        return out;
+    }
+
+    public StringBuilder format(DayDate date, StringBuilder out) {
+        return format(date.getOrdinalDay(), out);
+    }
+
+    /** Writes at {@code offset} and returns the offset after the last char written. */
+    public int format(int ordinal, char[] out, int offset) {
+        return write(ordinal, Sink.CHARS, out, offset);
+    }
+
+    public int format(DayDate date, char[] out, int offset) {
+        return format(date.getOrdinalDay(), out, offset);
+    }
+
+    /** Writes at {@code offset} and returns the offset after the last byte written. */
+    public int format(int ordinal, byte[] out, int offset) {
+        return write(ordinal, Sink.BYTES, out, offset);
+    }
+
+    public int format(DayDate date, byte[] out, int offset) {
+        return format(date.getOrdinalDay(), out, offset);
+    }
+
+    /** Writes at the buffer's position and advances it. */
+    public void format(int ordinal, ByteBuffer out) {
+        out.position(write(ordinal, Sink.BUFFER, out, out.position()));
+    }
+
+    public void format(DayDate date, ByteBuffer out) {
+        format(date.getOrdinalDay(), out);
+    }
+
+    public String format(int ordinal) {
+        return format(ordinal, new StringBuilder(maxLength)).toString();
+    }
+
+    public String format(DayDate date) {
+        return format(date.getOrdinalDay());
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private int write(int ordinal, Sink sink, Object out, int offset) {
+        SpreadsheetDate.checkOrdinal(ordinal);
+        int yearIndex = DateTables.yearIndexOf(ordinal);
+        int dayOfYear = ordinal - DateTables.YEAR_START[yearIndex];
+        int month = DateTables.monthIndexOf(yearIndex, dayOfYear);
+        int day = dayOfYear - DateTables.aggregateDaysFor(yearIndex)[month] + 1;
+        int year = SpreadsheetDate.MINIMUM_YEAR_SUPPORTED + yearIndex;
+
+        int at = offset;
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i]) {
+                case LITERAL:
+                    at = sink.text(out, at, chars[i][0], bytes[i][0]);
+                    break;
+                case YEAR:
+                    at = digits(sink, out, at, year, 4);
+                    break;
+                case YEAR_OF_CENTURY:
+                    at = digits(sink, out, at, year % 100, 2);
+                    break;
+                case MONTH:
+                    at = digits(sink, out, at, month, widths[i]);
+                    break;
+                case DAY:
+                    at = digits(sink, out, at, day, widths[i]);
+                    break;
+                case SHORT_MONTH_NAME:
+                case MONTH_NAME:
+                    at = sink.text(out, at, chars[i][month], bytes[i][month]);
+                    break;
+                default:
+                    int weekday = DateTables.dayOfWeekOf(ordinal).index;
+                    at = sink.text(out, at, chars[i][weekday], bytes[i][weekday]);
+                    break;
+            }
+        }
+        return at;
+    }
+
+    /** Writes a value below 10000 with at least {@code width} digits. */
+    private static int digits(Sink sink, Object out, int at, int value, int width) {
+        int count = value >= 1000 ? 4 : value >= 100 ? 3 : value >= 10 ? 2 : 1;
+        for (int pad = count; pad < width; pad++) sink.put(out, at++, '0');
+        for (int divisor = count == 4 ? 1000 : count == 3 ? 100 : count == 2 ? 10 : 1; divisor > 0; divisor /= 10) {
+            sink.put(out, at++, (char) ('0' + value / divisor % 10));
+        }
+        return at;
+    }
+
+    private enum Sink {
+        BUILDER {
+            @Override
+            void put(Object out, int at, char c) {
+                ((StringBuilder) out).append(c);
+            }
+
+            @Override
+            int text(Object out, int at, char[] chars, byte[] bytes) {
+                ((StringBuilder) out).append(chars);
+                return at + chars.length;
+            }
+        },
+        CHARS {
+            @Override
+            void put(Object out, int at, char c) {
+                ((char[]) out)[at] = c;
+            }
+
+            @Override
+            int text(Object out, int at, char[] chars, byte[] bytes) {
+                System.arraycopy(chars, 0, (char[]) out, at, chars.length);
+                return at + chars.length;
+            }
+        },
+        BYTES {
+            @Override
+            void put(Object out, int at, char c) {
+                ((byte[]) out)[at] = (byte) c;
+            }
+
+            @Override
+            int text(Object out, int at, char[] chars, byte[] bytes) {
+                System.arraycopy(bytes, 0, (byte[]) out, at, bytes.length);
+                return at + bytes.length;
+            }
+        },
+        BUFFER {
+            @Override
+            void put(Object out, int at, char c) {
+                ((ByteBuffer) out).put(at, (byte) c);
+            }
+
+            @Override
+            int text(Object out, int at, char[] chars, byte[] bytes) {
+                ByteBuffer buffer = (ByteBuffer) out;
+                for (byte b : bytes) buffer.put(at++, b);
+                return at;
+            }
+        };
+
+        /** Writes one ASCII char. */
+        abstract void put(Object out, int at, char c);
+
+        abstract int text(Object out, int at, char[] chars, byte[] bytes);
+    }
+}
@@ -0,0 +1,105 @@
+package ch14.date;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.UNIX_EPOCH_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayDateFormatterTest {
+
+    private static LocalDate localDateOf(int ordinal) {
+        return LocalDate.ofEpochDay(ordinal - UNIX_EPOCH_ORDINAL);
+    }
+
+    @Test
+    public void testStandardFormattersRoundTripThroughParserOverWholeRange() throws Exception {
+        DayDateFormatter[] formatters = {
+                DayDateFormatter.ISO, DayDateFormatter.BASIC_ISO,
+                DayDateFormatter.DAY_MONTH_YEAR, DayDateFormatter.DAY_MONTH_NAME_YEAR};
+        StringBuilder text = new StringBuilder();
+        for (int ordinal = EARLIEST_DATE_ORDINAL; ordinal <= LATEST_DATE_ORDINAL; ordinal++) {
+            for (DayDateFormatter formatter : formatters) {
+                text.setLength(0);
+                formatter.format(ordinal, text);
+                if (DayDateParser.parseOrdinal(text) != ordinal) fail(formatter + " wrote " + text + " for " + ordinal);
+            }
+        }
+        assertEquals("1900-01-01", DayDateFormatter.ISO.format(EARLIEST_DATE_ORDINAL));
+        assertEquals("99991231", DayDateFormatter.BASIC_ISO.format(LATEST_DATE_ORDINAL));
+        assertEquals("29/02/2000", DayDateFormatter.DAY_MONTH_YEAR.format(DayDateFactory.makeDate(29, 2, 2000)));
+    }
+
+    @Test
+    public void testPatternsMatchDateTimeFormatter() throws Exception {
+        String[] patterns = {
+                "yyyy-MM-dd", "d/M/yy", "dd MMM yyyy", "EEEE, d MMMM y", "EEE dd.MM.yyyy", "'Week of' d MMM",
+                "yyyy'-''-'MM"};
+        Random random = new Random(42);
+        for (Locale locale : new Locale[] {Locale.US, Locale.GERMANY, Locale.FRANCE}) {
+            for (String pattern : patterns) {
+                DayDateFormatter formatter = DayDateFormatter.ofPattern(pattern, locale);
+                DateTimeFormatter expected = DateTimeFormatter.ofPattern(pattern, locale);
+                assertEquals(pattern, formatter.getPattern());
+                assertEquals(locale, formatter.getLocale());
+                for (int i = 0; i < 5_000; i++) {
+                    int ordinal = i < 2 ? (i == 0 ? EARLIEST_DATE_ORDINAL : LATEST_DATE_ORDINAL)
+                            : EARLIEST_DATE_ORDINAL + random.nextInt(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL + 1);
+                    String text = formatter.format(ordinal);
+                    assertEquals(expected.format(localDateOf(ordinal)), text, pattern + " " + locale);
+                    assertTrue(text.getBytes(StandardCharsets.UTF_8).length <= formatter.maxLength());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCharsBytesAndBuffersMatchString() throws Exception {
+        DayDateFormatter formatter = DayDateFormatter.ofPattern("EEEE d MMMM yyyy", Locale.FRANCE);
+        int offset = 3;
+        char[] chars = new char[offset + formatter.maxLength()];
+        byte[] bytes = new byte[offset + formatter.maxLength()];
+        ByteBuffer buffer = ByteBuffer.allocate(offset + formatter.maxLength());
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            DayDate date = DayDateFactory.makeDate(
+                    EARLIEST_DATE_ORDINAL + random.nextInt(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL + 1));
+            String expected = formatter.format(date);
+            byte[] utf8 = expected.getBytes(StandardCharsets.UTF_8);
+
+            int end = formatter.format(date, chars, offset);
+            assertEquals(expected, new String(chars, offset, end - offset));
+
+            end = formatter.format(date, bytes, offset);
+            assertEquals(expected, new String(bytes, offset, end - offset, StandardCharsets.UTF_8));
+
+            buffer.clear().position(offset);
+            formatter.format(date, buffer);
+            assertEquals(offset + utf8.length, buffer.position());
+            assertEquals(expected, new String(buffer.array(), offset, utf8.length, StandardCharsets.UTF_8));
+
+            assertEquals(expected, formatter.format(date, new StringBuilder("x")).substring(1));
+        }
+    }
+
+    @Test
+    public void testBadPatternsAndOrdinalsAreRejected() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> DayDateFormatter.ofPattern("yyyy-QQ"));
+        assertThrows(IllegalArgumentException.class, () -> DayDateFormatter.ofPattern("ddd"));
+        assertThrows(IllegalArgumentException.class, () -> DayDateFormatter.ofPattern("'open"));
+        assertEquals("it's 2000", DayDateFormatter.ofPattern("'it''s' yyyy").format(DayDateFactory.makeDate(1, 1, 2000)));
+        assertEquals("'", DayDateFormatter.ofPattern("''").format(EARLIEST_DATE_ORDINAL));
+        assertThrows(IllegalArgumentException.class, () -> DayDateFormatter.ISO.format(EARLIEST_DATE_ORDINAL - 1));
+        assertThrows(IllegalArgumentException.class, () -> DayDateFormatter.ISO.format(LATEST_DATE_ORDINAL + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> DayDateFormatter.ISO.format(LATEST_DATE_ORDINAL + 1, new char[20], 0));
+    }
+}
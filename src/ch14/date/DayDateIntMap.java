@@ -0,0 +1,68 @@
+package ch14.date;
+
+/**
+ * A map from dates to {@code int} values, indexed directly by serial ordinal
+ * like {@link DayDateMap} but with neither keys nor values boxed.  Missing
+ * keys read as the no-entry value given to the constructor.
+ */
+public class DayDateIntMap extends OrdinalKeyedPages<int[]> {
+    private final int noEntryValue;
+
+    public DayDateIntMap() {
+        this(0);
+    }
+
+    public DayDateIntMap(int noEntryValue) {
+        super(int[]::new);
+        this.noEntryValue = noEntryValue;
+    }
+
+    public int getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    public int get(int ordinal) {
+        if (!isPresent(ordinal)) return noEntryValue;
+        return valuePage(ordinal)[slot(ordinal)];
+    }
+
+    public int get(DayDate date) {
+        return get(date.getOrdinalDay());
+    }
+
+    /** Stores the value and returns the one it replaced, or the no-entry value. */
+    public int put(int ordinal, int value) {
+        int previous = get(ordinal);
+        mark(ordinal);
+        valuePage(ordinal)[slot(ordinal)] = value;
+        return previous;
+    }
+
+    public int put(DayDate date, int value) {
+        return put(date.getOrdinalDay(), value);
+    }
+
+    /** Adds {@code delta} to the value, starting from zero for a missing key, and returns the sum. */
+    public int addTo(int ordinal, int delta) {
+        boolean added = mark(ordinal);
+        int[] page = valuePage(ordinal);
+        int slot = slot(ordinal);
+        page[slot] = added ? delta : page[slot] + delta;
+        return page[slot];
+    }
+
+    public int addTo(DayDate date, int delta) {
+        return addTo(date.getOrdinalDay(), delta);
+    }
+
+    /** Removes the ordinal and returns its value, or the no-entry value. */
+    public int remove(int ordinal) {
+        int previous = get(ordinal);
+        unmark(ordinal);
+        return previous;
+    }
+
+    public int remove(DayDate date) {
+        return remove(date.getOrdinalDay());
+    }
+}
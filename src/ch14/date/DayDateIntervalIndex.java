@@ -0,0 +1,127 @@
+package ch14.date;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable index of date ranges that answers "which ranges contain this
+ * date" and "which ranges overlap this range".
+ * <P>
+ * Ranges are stored as inclusive ordinal bounds sorted by their first day,
+ * in plain arrays.  The sorted array is read as an implicit balanced tree
+ * (the middle element of each slice is the root of that slice) and each
+ * node keeps the latest last day of its subtree.  A query visits
+ * O(log n + k) nodes, where k is the number of ranges reported.  Ranges are
+ * reported by the position they had in the columns the index was built from.
+ */
+public final class DayDateIntervalIndex {
+    private final int[] first;
+    private final int[] last;
+    private final int[] ids;
+    private final int[] maxLast;
+
+    private DayDateIntervalIndex(int[] first, int[] last, int[] ids) {
+        this.first = first;
+        this.last = last;
+        this.ids = ids;
+        this.maxLast = new int[first.length];
+        computeMaxLast(0, first.length);
+    }
+
+    /**
+     * Builds an index of the ranges {@code (d1[i], d2[i])}, all with the same
+     * endpoint mode.  Each pair may be given in either order.
+     */
+    public static DayDateIntervalIndex build(int[] d1, int[] d2, DateInterval interval) {
+        DateInterval[] intervals = new DateInterval[d1.length];
+        Arrays.fill(intervals, interval);
+        return build(d1, d2, intervals);
+    }
+
+    public static DayDateIntervalIndex build(DayDateColumn d1, DayDateColumn d2, DateInterval interval) {
+        return build(d1.ordinals(), d2.ordinals(), interval);
+    }
+
+    /** Builds an index in which every range has its own endpoint mode. */
+    public static DayDateIntervalIndex build(int[] d1, int[] d2, DateInterval[] intervals) {
+        if (d1.length != d2.length || d1.length != intervals.length)
+            throw new IllegalArgumentException("Column Size Mismatch");
+        long[] keys = new long[d1.length];
+        int count = 0;
+        for (int i = 0; i < d1.length; i++) {
+            int lo = DateRangeFilter.lowerBound(d1[i], d2[i], intervals[i]);
+            int hi = DateRangeFilter.upperBound(d1[i], d2[i], intervals[i]);
+            if (lo <= hi) keys[count++] = ((long) lo << 32) | i;
+        }
+        keys = Arrays.copyOf(keys, count);
+        Arrays.sort(keys);
+
+        int[] first = new int[count];
+        int[] last = new int[count];
+        int[] ids = new int[count];
+        for (int k = 0; k < count; k++) {
+            int i = (int) keys[k];
+            first[k] = (int) (keys[k] >>> 32);
+            last[k] = DateRangeFilter.upperBound(d1[i], d2[i], intervals[i]);
+            ids[k] = i;
+        }
+        return new DayDateIntervalIndex(first, last, ids);
+    }
+
+    private int computeMaxLast(int from, int to) {
+        if (from >= to) return Integer.MIN_VALUE;
+        int mid = (from + to) >>> 1;
+        int max = Math.max(last[mid], Math.max(computeMaxLast(from, mid), computeMaxLast(mid + 1, to)));
+        maxLast[mid] = max;
+        return max;
+    }
+
+    /** Number of non-empty ranges in the index. */
+    public int size() {
+        return first.length;
+    }
+
+    /** Reports every range that contains the ordinal. */
+    public void stab(int ordinal, IntConsumer action) {
+        overlapping(ordinal, ordinal, 0, first.length, action);
+    }
+
+    public void stab(DayDate date, IntConsumer action) {
+        stab(date.getOrdinalDay(), action);
+    }
+
+    public int[] stab(int ordinal) {
+        IntStream.Builder result = IntStream.builder();
+        stab(ordinal, result);
+        return result.build().toArray();
+    }
+
+    /** Reports every range that shares at least one day with the given range. */
+    public void overlapping(int d1, int d2, DateInterval interval, IntConsumer action) {
+        int lo = DateRangeFilter.lowerBound(d1, d2, interval);
+        int hi = DateRangeFilter.upperBound(d1, d2, interval);
+        if (lo <= hi) overlapping(lo, hi, 0, first.length, action);
+    }
+
+    public void overlapping(DayDate d1, DayDate d2, DateInterval interval, IntConsumer action) {
+        overlapping(d1.getOrdinalDay(), d2.getOrdinalDay(), interval, action);
+    }
+
+    public int[] overlapping(int d1, int d2, DateInterval interval) {
+        IntStream.Builder result = IntStream.builder();
+        overlapping(d1, d2, interval, result);
+        return result.build().toArray();
+    }
+
+    private void overlapping(int lo, int hi, int from, int to, IntConsumer action) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (maxLast[mid] < lo) return;
+            overlapping(lo, hi, from, mid, action);
+            if (first[mid] > hi) return;
+            if (last[mid] >= lo) action.accept(ids[mid]);
+            from = mid + 1;
+        }
+    }
+}
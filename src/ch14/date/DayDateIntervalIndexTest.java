@@ -0,0 +1,108 @@
+package ch14.date;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.DateInterval.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayDateIntervalIndexTest {
+    private static final int BASE = OrdinalDates.ordinal(1, 1, 2020);
+    private static final int SPAN = 2000;
+
+    private final Random random = new Random(42);
+    private final int[] d1 = new int[5_000];
+    private final int[] d2 = new int[d1.length];
+    private final DateInterval[] intervals = new DateInterval[d1.length];
+
+    DayDateIntervalIndexTest() {
+        for (int i = 0; i < d1.length; i++) {
+            d1[i] = BASE + random.nextInt(SPAN);
+            d2[i] = d1[i] + random.nextInt(90) - 30;
+            intervals[i] = DateInterval.values()[random.nextInt(4)];
+        }
+    }
+
+    private int[] bruteStab(int ordinal) {
+        return IntStream.range(0, d1.length)
+                .filter(i -> OrdinalDates.isInRange(ordinal, d1[i], d2[i], intervals[i])).toArray();
+    }
+
+    private int[] bruteOverlapping(int q1, int q2, DateInterval interval) {
+        return IntStream.range(0, d1.length)
+                .filter(i -> IntStream.rangeClosed(Math.min(q1, q2), Math.max(q1, q2))
+                        .anyMatch(day -> OrdinalDates.isInRange(day, q1, q2, interval)
+                                && OrdinalDates.isInRange(day, d1[i], d2[i], intervals[i])))
+                .toArray();
+    }
+
+    /** Whether the i-th range has at least one day. */
+    private boolean isNonEmpty(int i) {
+        return IntStream.rangeClosed(Math.min(d1[i], d2[i]), Math.max(d1[i], d2[i]))
+                .anyMatch(day -> OrdinalDates.isInRange(day, d1[i], d2[i], intervals[i]));
+    }
+
+    private static int[] sorted(int[] ids) {
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    @Test
+    public void testStabMatchesBruteForce() throws Exception {
+        DayDateIntervalIndex index = DayDateIntervalIndex.build(d1, d2, intervals);
+        assertEquals(IntStream.range(0, d1.length).filter(this::isNonEmpty).count(), index.size());
+        for (int ordinal = BASE - 40; ordinal < BASE + SPAN + 100; ordinal++) {
+            assertArrayEquals(bruteStab(ordinal), sorted(index.stab(ordinal)), Integer.toString(ordinal));
+        }
+        IntStream.Builder ids = IntStream.builder();
+        index.stab(DayDateFactory.makeDate(BASE + 500), ids);
+        assertArrayEquals(bruteStab(BASE + 500), sorted(ids.build().toArray()));
+    }
+
+    @Test
+    public void testOverlappingMatchesBruteForce() throws Exception {
+        DayDateIntervalIndex index = DayDateIntervalIndex.build(d1, d2, intervals);
+        for (int k = 0; k < 300; k++) {
+            int q1 = BASE - 50 + random.nextInt(SPAN + 100);
+            int q2 = q1 + random.nextInt(61) - 20;
+            DateInterval interval = DateInterval.values()[random.nextInt(4)];
+            assertArrayEquals(bruteOverlapping(q1, q2, interval), sorted(index.overlapping(q1, q2, interval)),
+                    q1 + " " + q2 + " " + interval);
+        }
+        assertEquals(0, index.overlapping(BASE, BASE + 1, OPEN).length);
+        assertArrayEquals(sorted(index.stab(BASE + 7)), sorted(index.overlapping(BASE + 7, BASE + 7, CLOSED)));
+    }
+
+    @Test
+    public void testSingleModeAndColumns() throws Exception {
+        DayDateIntervalIndex closed = DayDateIntervalIndex.build(d1, d2, CLOSED);
+        DayDateIntervalIndex fromColumns = DayDateIntervalIndex.build(new DayDateColumn(d1), new DayDateColumn(d2), CLOSED);
+        assertEquals(d1.length, closed.size());
+        for (int ordinal = BASE; ordinal < BASE + SPAN; ordinal += 17) {
+            int day = ordinal;
+            int[] expected = IntStream.range(0, d1.length)
+                    .filter(i -> OrdinalDates.isInRange(day, d1[i], d2[i], CLOSED)).toArray();
+            assertArrayEquals(expected, sorted(closed.stab(ordinal)));
+            assertArrayEquals(expected, sorted(fromColumns.stab(ordinal)));
+        }
+    }
+
+    @Test
+    public void testEmptyAndMismatchedInput() throws Exception {
+        DayDateIntervalIndex empty = DayDateIntervalIndex.build(new int[0], new int[0], CLOSED);
+        assertEquals(0, empty.size());
+        assertEquals(0, empty.stab(BASE).length);
+        assertEquals(0, empty.overlapping(BASE, BASE + 10, CLOSED).length);
+
+        DayDateIntervalIndex onlyEmptyRanges = DayDateIntervalIndex.build(new int[] {BASE, BASE}, new int[] {BASE, BASE + 1}, OPEN);
+        assertEquals(0, onlyEmptyRanges.size());
+        assertEquals(0, onlyEmptyRanges.stab(BASE).length);
+
+        assertThrows(IllegalArgumentException.class, () -> DayDateIntervalIndex.build(new int[1], new int[2], CLOSED));
+        assertThrows(IllegalArgumentException.class,
+                () -> DayDateIntervalIndex.build(new int[1], new int[1], new DateInterval[2]));
+    }
+}
@@ -0,0 +1,68 @@
+package ch14.date;
+
+/**
+ * A map from dates to {@code long} values, indexed directly by serial ordinal
+ * like {@link DayDateMap} but with neither keys nor values boxed.  Missing
+ * keys read as the no-entry value given to the constructor.
+ */
+public class DayDateLongMap extends OrdinalKeyedPages<long[]> {
+    private final long noEntryValue;
+
+    public DayDateLongMap() {
+        this(0L);
+    }
+
+    public DayDateLongMap(long noEntryValue) {
+        super(long[]::new);
+        this.noEntryValue = noEntryValue;
+    }
+
+    public long getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    public long get(int ordinal) {
+        if (!isPresent(ordinal)) return noEntryValue;
+        return valuePage(ordinal)[slot(ordinal)];
+    }
+
+    public long get(DayDate date) {
+        return get(date.getOrdinalDay());
+    }
+
+    /** Stores the value and returns the one it replaced, or the no-entry value. */
+    public long put(int ordinal, long value) {
+        long previous = get(ordinal);
+        mark(ordinal);
+        valuePage(ordinal)[slot(ordinal)] = value;
+        return previous;
+    }
+
+    public long put(DayDate date, long value) {
+        return put(date.getOrdinalDay(), value);
+    }
+
+    /** Adds {@code delta} to the value, starting from zero for a missing key, and returns the sum. */
+    public long addTo(int ordinal, long delta) {
+        boolean added = mark(ordinal);
+        long[] page = valuePage(ordinal);
+        int slot = slot(ordinal);
+        page[slot] = added ? delta : page[slot] + delta;
+        return page[slot];
+    }
+
+    public long addTo(DayDate date, long delta) {
+        return addTo(date.getOrdinalDay(), delta);
+    }
+
+    /** Removes the ordinal and returns its value, or the no-entry value. */
+    public long remove(int ordinal) {
+        long previous = get(ordinal);
+        unmark(ordinal);
+        return previous;
+    }
+
+    public long remove(DayDate date) {
+        return remove(date.getOrdinalDay());
+    }
+}
@@ -0,0 +1,74 @@
+package ch14.date;
+
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A map from dates to values, indexed directly by serial ordinal.
+ * <P>
+ * Keys are never boxed: memory grows with the pages of 1024 days that hold
+ * at least one key, and a lookup is a shift and two array reads.  Null
+ * values are allowed and are told apart from missing keys by
+ * {@link #containsKey(int)}.
+ */
+public class DayDateMap<V> extends OrdinalKeyedPages<Object[]> {
+
+    public DayDateMap() {
+        super(Object[]::new);
+    }
+
+    @Override
+    void clearValue(Object[] page, int slot) {
+        page[slot] = null;
+    }
+
+    /** Returns the value for the ordinal, or null if there is none. */
+    @SuppressWarnings("unchecked")
+    public V get(int ordinal) {
+        if (!isPresent(ordinal)) return null;
+        return (V) valuePage(ordinal)[slot(ordinal)];
+    }
+
+    public V get(DayDate date) {
+        return get(date.getOrdinalDay());
+    }
+
+    public V getOrDefault(int ordinal, V defaultValue) {
+        return isPresent(ordinal) ? get(ordinal) : defaultValue;
+    }
+
+    /** Stores the value and returns the one it replaced, or null. */
+    public V put(int ordinal, V value) {
+        V previous = get(ordinal);
+        mark(ordinal);
+        valuePage(ordinal)[slot(ordinal)] = value;
+        return previous;
+    }
+
+    public V put(DayDate date, V value) {
+        return put(date.getOrdinalDay(), value);
+    }
+
+    public V computeIfAbsent(int ordinal, IntFunction<? extends V> function) {
+        if (isPresent(ordinal)) return get(ordinal);
+        V value = function.apply(ordinal);
+        put(ordinal, value);
+        return value;
+    }
+
+    /** Removes the ordinal and returns its value, or null. */
+    public V remove(int ordinal) {
+        V previous = get(ordinal);
+        unmark(ordinal);
+        return previous;
+    }
+
+    public V remove(DayDate date) {
+        return remove(date.getOrdinalDay());
+    }
+
+    /** Visits the entries in ascending ordinal order. */
+    public void forEach(ObjIntConsumer<? super V> action) {
+        forEachKey(ordinal -> action.accept(get(ordinal), ordinal));
+    }
+}
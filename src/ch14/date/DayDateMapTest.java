@@ -0,0 +1,212 @@
+package ch14.date;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayDateMapTest {
+    private final Random random = new Random(42);
+
+    private int randomOrdinal() {
+        return random.nextBoolean()
+                ? EARLIEST_DATE_ORDINAL + random.nextInt(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL + 1)
+                : 40_000 + random.nextInt(3_000);
+    }
+
+    /** A separate instance with the same ordinal, to check that equality only looks at the ordinal. */
+    private static DayDate otherDate(int ordinal) {
+        return new SpreadsheetDate(ordinal);
+    }
+
+    @Test
+    public void testValueSemantics() throws Exception {
+        DayDate date = DayDateFactory.makeDate(9, 9, 2001);
+        DayDate same = otherDate(date.getOrdinalDay());
+        assertNotSame(date, same);
+        assertEquals(date, same);
+        assertEquals(same, date);
+        assertEquals(date.hashCode(), same.hashCode());
+        assertEquals(0, date.compareTo(same));
+        assertNotEquals(date, date.plusDays(1));
+        assertNotEquals(date, Integer.valueOf(date.getOrdinalDay()));
+        assertNotEquals(date, null);
+        assertTrue(date.compareTo(date.plusDays(1)) < 0);
+        assertTrue(date.plusDays(1).compareTo(same) > 0);
+
+        Map<DayDate, String> hashed = new HashMap<>();
+        hashed.put(date, "a");
+        assertEquals("a", hashed.get(same));
+        assertEquals("a", new TreeMap<>(hashed).get(same));
+    }
+
+    @Test
+    public void testObjectMapMatchesTreeMap() throws Exception {
+        DayDateMap<String> map = new DayDateMap<>();
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            int ordinal = randomOrdinal();
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    String value = random.nextInt(10) == 0 ? null : Integer.toString(i);
+                    assertEquals(expected.put(ordinal, value), map.put(ordinal, value));
+                    break;
+                case 2:
+                    assertEquals(expected.remove(ordinal), map.remove(ordinal));
+                    break;
+                default:
+                    assertEquals(expected.containsKey(ordinal), map.containsKey(ordinal));
+                    assertEquals(expected.get(ordinal), map.get(ordinal));
+                    assertEquals(expected.getOrDefault(ordinal, "none"), map.getOrDefault(ordinal, "none"));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        List<Integer> keys = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        map.forEach((value, ordinal) -> {
+            keys.add(ordinal);
+            values.add(value);
+        });
+        assertEquals(new ArrayList<>(expected.keySet()), keys);
+        assertEquals(new ArrayList<>(expected.values()), values);
+        assertArrayEquals(expected.keySet().stream().mapToInt(Integer::intValue).toArray(), map.keys().toArray());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.keys().count());
+        assertNull(map.get(expected.firstKey()));
+    }
+
+    @Test
+    public void testNullValuesAndDateKeys() throws Exception {
+        DayDateMap<String> map = new DayDateMap<>();
+        DayDate date = DayDateFactory.makeDate(1, 1, 2000);
+        assertNull(map.put(date, null));
+        assertTrue(map.containsKey(date));
+        assertEquals(1, map.size());
+        assertNull(map.getOrDefault(date.getOrdinalDay(), "none"));
+        assertEquals("none", map.getOrDefault(date.getOrdinalDay() + 1, "none"));
+        assertNull(map.computeIfAbsent(date.getOrdinalDay(), ordinal -> "computed"));
+        assertEquals("x", map.computeIfAbsent(date.getOrdinalDay() + 1, ordinal -> "x"));
+        assertEquals("x", map.get(otherDate(date.getOrdinalDay() + 1)));
+        assertNull(map.remove(date));
+        assertFalse(map.containsKey(date));
+        assertFalse(map.containsKey(-1));
+        assertNull(map.get(LATEST_DATE_ORDINAL + 1));
+        assertThrows(IllegalArgumentException.class, () -> map.put(LATEST_DATE_ORDINAL + 1, "x"));
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, "x"));
+    }
+
+    @Test
+    public void testPrimitiveMapsMatchHashMap() throws Exception {
+        DayDateIntMap ints = new DayDateIntMap(-1);
+        DayDateLongMap longs = new DayDateLongMap(-1L);
+        DayDateDoubleMap doubles = new DayDateDoubleMap(Double.NaN);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            int ordinal = randomOrdinal();
+            int value = random.nextInt(1000);
+            Integer previous = expected.get(ordinal);
+            switch (random.nextInt(3)) {
+                case 0:
+                    expected.put(ordinal, value);
+                    assertEquals(previous == null ? -1 : previous, ints.put(ordinal, value));
+                    assertEquals(previous == null ? -1L : previous, longs.put(ordinal, value));
+                    assertEquals(previous == null ? Double.NaN : previous, doubles.put(ordinal, value));
+                    break;
+                case 1:
+                    int sum = expected.merge(ordinal, value, Integer::sum);
+                    assertEquals(sum, ints.addTo(ordinal, value));
+                    assertEquals(sum, longs.addTo(ordinal, value));
+                    assertEquals(sum, doubles.addTo(ordinal, value));
+                    break;
+                default:
+                    expected.remove(ordinal);
+                    assertEquals(previous == null ? -1 : previous, ints.remove(ordinal));
+                    assertEquals(previous == null ? -1L : previous, longs.remove(ordinal));
+                    assertEquals(previous == null ? Double.NaN : previous, doubles.remove(ordinal));
+            }
+        }
+        assertEquals(expected.size(), ints.size());
+        assertEquals(expected.size(), longs.size());
+        assertEquals(expected.size(), doubles.size());
+        for (int ordinal = 40_000; ordinal < 43_000; ordinal++) {
+            Integer value = expected.get(ordinal);
+            assertEquals(value == null ? -1 : value, ints.get(ordinal));
+            assertEquals(value == null ? -1L : value, longs.get(ordinal));
+            assertEquals(value == null ? Double.NaN : value, doubles.get(ordinal));
+        }
+        assertEquals(-1, ints.getNoEntryValue());
+        assertEquals(-1L, longs.getNoEntryValue());
+        assertEquals(Double.NaN, doubles.getNoEntryValue());
+    }
+
+    @Test
+    public void testAddToStartsFromZero() throws Exception {
+        DayDateIntMap ints = new DayDateIntMap(7);
+        DayDate date = DayDateFactory.makeDate(29, 2, 2000);
+        assertEquals(7, ints.get(date));
+        assertEquals(3, ints.addTo(date, 3));
+        assertEquals(5, ints.addTo(date, 2));
+        assertEquals(5, ints.remove(date));
+        assertEquals(7, ints.get(date));
+        assertEquals(4L, new DayDateLongMap(9L).addTo(date, 4L));
+        assertEquals(0.5, new DayDateDoubleMap(9.0).addTo(date, 0.5));
+    }
+
+    @Test
+    public void testEmptyPagesAreReleased() throws Exception {
+        DayDateMap<String> map = new DayDateMap<>();
+        DayDateIntMap ints = new DayDateIntMap(-1);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // Keys churn over a window that slides across the range, as a long-lived map's keys would.
+            int ordinal = 40_000 + i / 4 + random.nextInt(3_000);
+            if (random.nextBoolean()) {
+                expected.put(ordinal, i);
+                map.put(ordinal, Integer.toString(i));
+                ints.put(ordinal, i);
+            } else {
+                expected.remove(ordinal);
+                map.remove(ordinal);
+                ints.remove(ordinal);
+            }
+            if (i % 20_000 == 0) {
+                long pages = expected.keySet().stream().map(key -> key >>> OrdinalKeyedPages.PAGE_BITS).distinct().count();
+                assertEquals(pages, map.pageCount());
+                assertEquals(pages, ints.pageCount());
+            }
+        }
+        for (int ordinal : new ArrayList<>(expected.keySet())) {
+            assertEquals(Integer.toString(expected.get(ordinal)), map.remove(ordinal));
+            assertEquals(expected.remove(ordinal).intValue(), ints.remove(ordinal));
+        }
+        assertEquals(0, map.pageCount());
+        assertEquals(0, ints.pageCount());
+        assertTrue(map.isEmpty());
+
+        // A released page is reused without carrying its old keys or values along.
+        int first = 1 << OrdinalKeyedPages.PAGE_BITS;
+        int second = 5 << OrdinalKeyedPages.PAGE_BITS;
+        map.put(first + 7, "seven");
+        ints.put(first + 7, 7);
+        map.remove(first + 7);
+        ints.remove(first + 7);
+        map.put(second, "zero");
+        assertEquals(1, ints.addTo(second + 7, 1));
+        assertFalse(map.containsKey(second + 7));
+        assertNull(map.get(second + 7));
+        assertFalse(map.containsKey(first + 7));
+        assertEquals(-1, ints.get(first + 7));
+        assertEquals(1, ints.get(second + 7));
+    }
+}
@@ -0,0 +1,157 @@
+package ch14.date;
+
+import java.nio.ByteBuffer;
+
+import static ch14.date.SpreadsheetDate.MAXIMUM_YEAR_SUPPORTED;
+import static ch14.date.SpreadsheetDate.MINIMUM_YEAR_SUPPORTED;
+
+/**
+ * Reads dates straight from text or bytes without creating strings.
+ * <P>
+ * Accepted layouts are {@code yyyy-MM-dd}, {@code dd/MM/yyyy} (day and month
+ * may have one digit), {@code d MMM yyyy} with a short month name of the
+ * default locale, and {@code yyyyMMdd}.  Surrounding spaces are ignored.
+ * Bytes are read one character each (ISO-8859-1).
+ * <P>
+ * Text that is not a supported date gives {@link #INVALID} (or {@code null}
+ * from the {@code parse} methods) instead of an exception.
+ */
+public final class DayDateParser {
+    /** Returned in place of an ordinal when the text is not a valid date. */
+    public static final int INVALID = -1;
+
+    private static final char[][] SHORT_MONTH_NAMES = upperCaseShortMonthNames();
+
+    private interface Source {
+        int charAt(Object source, int index);
+    }
+
+    private static final Source CHARS = (source, index) -> ((CharSequence) source).charAt(index);
+    private static final Source BYTES = (source, index) -> ((byte[]) source)[index] & 0xFF;
+    private static final Source BUFFER = (source, index) -> ((ByteBuffer) source).get(index) & 0xFF;
+
+    private DayDateParser() {
+    }
+
+    /**
+     * Upper-cases the names one char at a time, as {@link #monthNamed} does
+     * with the input, so the default locale's case rules (the Turkish dotted
+     * i, for one) cannot make the two disagree.
+     */
+    private static char[][] upperCaseShortMonthNames() {
+        DateNames names = DateNames.forDefaultLocale();
+        char[][] result = new char[12][];
+        for (int i = 0; i < 12; i++) {
+            result[i] = names.shortMonthName(DateTables.MONTHS[i + 1]).toCharArray();
+            for (int j = 0; j < result[i].length; j++) result[i][j] = Character.toUpperCase(result[i][j]);
+        }
+        return result;
+    }
+
+    public static int parseOrdinal(CharSequence text) {
+        return parseOrdinal(text, 0, text.length());
+    }
+
+    /** Parses {@code text} from {@code start} (inclusive) to {@code end} (exclusive). */
+    public static int parseOrdinal(CharSequence text, int start, int end) {
+        return parse(CHARS, text, start, end);
+    }
+
+    public static int parseOrdinal(byte[] bytes, int offset, int length) {
+        return parse(BYTES, bytes, offset, offset + length);
+    }
+
+    /** Reads with absolute gets; the buffer position is not changed. */
+    public static int parseOrdinal(ByteBuffer buffer, int offset, int length) {
+        return parse(BUFFER, buffer, offset, offset + length);
+    }
+
+    public static DayDate parse(CharSequence text) {
+        return toDate(parseOrdinal(text));
+    }
+
+    public static DayDate parse(CharSequence text, int start, int end) {
+        return toDate(parseOrdinal(text, start, end));
+    }
+
+    public static DayDate parse(byte[] bytes, int offset, int length) {
+        return toDate(parseOrdinal(bytes, offset, length));
+    }
+
+    public static DayDate parse(ByteBuffer buffer, int offset, int length) {
+        return toDate(parseOrdinal(buffer, offset, length));
+    }
+
+    private static DayDate toDate(int ordinal) {
+        return ordinal == INVALID ? null : DayDateFactory.makeDate(ordinal);
+    }
+
+    private static int parse(Source s, Object src, int start, int end) {
+        while (start < end && s.charAt(src, start) == ' ') start++;
+        while (end > start && s.charAt(src, end - 1) == ' ') end--;
+        int length = end - start;
+        if (length < 8) return INVALID;
+
+        if (length == 10 && s.charAt(src, start + 4) == '-' && s.charAt(src, start + 7) == '-')
+            return ordinalOf(digits(s, src, start + 8, 2), digits(s, src, start + 5, 2), digits(s, src, start, 4));
+        if (s.charAt(src, start + 1) == '/' || s.charAt(src, start + 2) == '/')
+            return parseDayMonthYear(s, src, start, end);
+        if (length == 8)
+            return ordinalOf(digits(s, src, start + 6, 2), digits(s, src, start + 4, 2), digits(s, src, start, 4));
+        return parseDayMonthNameYear(s, src, start, end);
+    }
+
+    private static int parseDayMonthYear(Source s, Object src, int start, int end) {
+        int daySeparator = s.charAt(src, start + 1) == '/' ? start + 1 : start + 2;
+        int monthSeparator = s.charAt(src, daySeparator + 2) == '/' ? daySeparator + 2 : daySeparator + 3;
+        if (monthSeparator >= end || s.charAt(src, monthSeparator) != '/' || end - monthSeparator != 5)
+            return INVALID;
+        return ordinalOf(
+                digits(s, src, start, daySeparator - start),
+                digits(s, src, daySeparator + 1, monthSeparator - daySeparator - 1),
+                digits(s, src, monthSeparator + 1, 4));
+    }
+
+    private static int parseDayMonthNameYear(Source s, Object src, int start, int end) {
+        int daySeparator = s.charAt(src, start + 1) == ' ' ? start + 1 : start + 2;
+        int yearSeparator = end - 5;
+        if (s.charAt(src, daySeparator) != ' ' || s.charAt(src, yearSeparator) != ' ' || yearSeparator <= daySeparator + 1)
+            return INVALID;
+        int month = monthNamed(s, src, daySeparator + 1, yearSeparator);
+        if (month == 0) return INVALID;
+        return ordinalOf(digits(s, src, start, daySeparator - start), month, digits(s, src, yearSeparator + 1, 4));
+    }
+
+    private static int monthNamed(Source s, Object src, int start, int end) {
+        for (int i = 0; i < 12; i++) {
+            char[] name = SHORT_MONTH_NAMES[i];
+            if (name.length != end - start) continue;
+            int j = 0;
+            while (j < name.length && Character.toUpperCase((char) s.charAt(src, start + j)) == name[j]) j++;
+            if (j == name.length) return i + 1;
+        }
+        return 0;
+    }
+
+    /** Returns the value of {@code count} decimal digits, or -1 if any of them is not a digit. */
+    private static int digits(Source s, Object src, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int c = s.charAt(src, i);
+            if (!isDigit(c)) return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int ordinalOf(int day, int month, int year) {
+        if (year < MINIMUM_YEAR_SUPPORTED || year > MAXIMUM_YEAR_SUPPORTED) return INVALID;
+        if (month < 1 || month > 12) return INVALID;
+        if (day < 1 || day > DateUtil.lastDayOfMonth(DateTables.MONTHS[month], year)) return INVALID;
+        return DateTables.ordinalOf(day, month, year);
+    }
+}
@@ -0,0 +1,76 @@
+package ch14.date;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.UNIX_EPOCH_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayDateParserTest {
+
+    private static String shortMonthName(int month) {
+        return DateNames.forDefaultLocale().shortMonthName(DateTables.MONTHS[month]);
+    }
+
+    private static String twoDigits(int value) {
+        return value < 10 ? "0" + value : Integer.toString(value);
+    }
+
+    @Test
+    public void testAllLayoutsRoundTripOverWholeRange() throws Exception {
+        for (int ordinal = EARLIEST_DATE_ORDINAL; ordinal <= LATEST_DATE_ORDINAL; ordinal++) {
+            LocalDate date = LocalDate.ofEpochDay(ordinal - UNIX_EPOCH_ORDINAL);
+            int d = date.getDayOfMonth();
+            int m = date.getMonthValue();
+            int y = date.getYear();
+            String iso = y + "-" + twoDigits(m) + "-" + twoDigits(d);
+            String basic = y + twoDigits(m) + twoDigits(d);
+            String slashes = d + "/" + m + "/" + y;
+            String padded = twoDigits(d) + "/" + twoDigits(m) + "/" + y;
+            String named = d + " " + shortMonthName(m) + " " + y;
+            for (String text : new String[] {iso, basic, slashes, padded, named}) {
+                if (DayDateParser.parseOrdinal(text) != ordinal) fail(text + " should be ordinal " + ordinal);
+            }
+        }
+    }
+
+    @Test
+    public void testBytesAndBuffersAtOffsets() throws Exception {
+        byte[] bytes = "xx2004-02-29yy".getBytes(StandardCharsets.ISO_8859_1);
+        int expected = OrdinalDates.ordinal(29, 2, 2004);
+        assertEquals(expected, DayDateParser.parseOrdinal(bytes, 2, 10));
+        assertEquals(expected, DayDateParser.parseOrdinal(ByteBuffer.wrap(bytes), 2, 10));
+        assertEquals(expected, DayDateParser.parseOrdinal("xx2004-02-29yy", 2, 12));
+        assertEquals(DayDateFactory.makeDate(expected), DayDateParser.parse(bytes, 2, 10));
+    }
+
+    @Test
+    public void testSurroundingSpacesAreIgnored() throws Exception {
+        assertEquals(OrdinalDates.ordinal(1, 7, 2000), DayDateParser.parseOrdinal("  2000-07-01 "));
+        assertEquals(OrdinalDates.ordinal(1, 7, 2000), DayDateParser.parseOrdinal(" 1/7/2000"));
+    }
+
+    @Test
+    public void testMonthNamesIgnoreCase() throws Exception {
+        String name = shortMonthName(7);
+        int expected = OrdinalDates.ordinal(1, 7, 2000);
+        assertEquals(expected, DayDateParser.parseOrdinal("1 " + name.toUpperCase(Locale.ROOT) + " 2000"));
+        assertEquals(expected, DayDateParser.parseOrdinal("1 " + name.toLowerCase(Locale.ROOT) + " 2000"));
+    }
+
+    @Test
+    public void testInvalidTextGivesInvalid() throws Exception {
+        String[] texts = {"", "2000-1-1", "2000-13-01", "2000-02-30", "1899-12-31", "10000-01-01",
+                "31/02/2000", "1/1/99", "20000231", "2000O101", "1 Foo 2000", "2000-01-01x", "abcdefgh"};
+        for (String text : texts) {
+            assertEquals(DayDateParser.INVALID, DayDateParser.parseOrdinal(text), text);
+            assertNull(DayDateParser.parse(text), text);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package ch14.date;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static ch14.date.DateInterval.CLOSED;
+
+/**
+ * Every day between two dates, with the endpoints included or excluded as
+ * given by a {@link DateInterval}.
+ * <P>
+ * Streams are SIZED and SUBSIZED and split without walking the range, so
+ * {@code parallel()} divides the work evenly.  {@link #streamByMonth()} and
+ * {@link #streamByWeek(Day)} only split on month or week boundaries, which
+ * keeps each month or week inside one task.
+ */
+public class DayDateRange implements Iterable<DayDate> {
+    private static final int EVEN = 0;
+    private static final int MONTH = 1;
+    private static final int WEEK = 2;
+
+    private final int first;
+    private final int last;
+
+    public DayDateRange(DayDate d1, DayDate d2) {
+        this(d1, d2, CLOSED);
+    }
+
+    /** The endpoints may be given in either order, as in {@link DayDate#isInRange(DayDate, DayDate, DateInterval)}. */
+    public DayDateRange(DayDate d1, DayDate d2, DateInterval interval) {
+        this.first = DateRangeFilter.lowerBound(d1.getOrdinalDay(), d2.getOrdinalDay(), interval);
+        this.last = DateRangeFilter.upperBound(d1.getOrdinalDay(), d2.getOrdinalDay(), interval);
+    }
+
+    public int size() {
+        return Math.max(0, last - first + 1);
+    }
+
+    public boolean isEmpty() {
+        return first > last;
+    }
+
+    public boolean contains(DayDate date) {
+        return date.getOrdinalDay() >= first && date.getOrdinalDay() <= last;
+    }
+
+    /** Returns the first day in the range; the range must not be empty. */
+    public DayDate getFirst() {
+        return DayDateFactory.makeDate(first);
+    }
+
+    /** Returns the last day in the range; the range must not be empty. */
+    public DayDate getLast() {
+        return DayDateFactory.makeDate(last);
+    }
+
+    public IntStream ordinals() {
+        return IntStream.rangeClosed(first, last);
+    }
+
+    /** Ordinals of every {@code days}-th day, starting with the first day. */
+    public IntStream ordinals(int days) {
+        if (days < 1)
+            throw new IllegalArgumentException("Non Valid Step");
+        return stepped(first, days);
+    }
+
+    /** Ordinals of every {@code dayOfWeek} in the range. */
+    public IntStream weeklyOrdinals(Day dayOfWeek) {
+        if (isEmpty()) return IntStream.empty();
+        // The first match may lie past the last supported date, so it is not found with followingDayOfWeek.
+        int start = first + Math.floorMod(dayOfWeek.index - OrdinalDates.dayOfWeek(first).index, 7);
+        return stepped(start, 7);
+    }
+
+    /**
+     * Ordinals of the first day plus 0, 1, 2... months, as given by
+     * {@link DayDate#plusMonths(int)}.  Each one is computed from the first
+     * day, so 31 January gives 28 February and then 31 March.
+     */
+    public IntStream monthlyOrdinals() {
+        if (isEmpty()) return IntStream.empty();
+        int months = 12 * (OrdinalDates.year(last) - OrdinalDates.year(first))
+                + OrdinalDates.month(last) - OrdinalDates.month(first);
+        if (OrdinalDates.plusMonths(first, months) > last) months--;
+        return IntStream.rangeClosed(0, months).map(i -> OrdinalDates.plusMonths(first, i));
+    }
+
+    private IntStream stepped(int start, int step) {
+        if (start > last) return IntStream.empty();
+        int count = (last - start) / step + 1;
+        return IntStream.range(0, count).map(i -> start + i * step);
+    }
+
+    public Stream<DayDate> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<DayDate> streamByMonth() {
+        return StreamSupport.stream(new DaySpliterator(first, last + 1, MONTH, null), false);
+    }
+
+    public Stream<DayDate> streamByWeek(Day firstDayOfWeek) {
+        return StreamSupport.stream(new DaySpliterator(first, last + 1, WEEK, firstDayOfWeek), false);
+    }
+
+    public Stream<DayDate> stream(int days) {
+        return ordinals(days).mapToObj(DayDateFactory::makeDate);
+    }
+
+    public Stream<DayDate> weekly(Day dayOfWeek) {
+        return weeklyOrdinals(dayOfWeek).mapToObj(DayDateFactory::makeDate);
+    }
+
+    public Stream<DayDate> monthly() {
+        return monthlyOrdinals().mapToObj(DayDateFactory::makeDate);
+    }
+
+    @Override
+    public Spliterator<DayDate> spliterator() {
+        return new DaySpliterator(first, last + 1, EVEN, null);
+    }
+
+    @Override
+    public Iterator<DayDate> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    private static final class DaySpliterator implements Spliterator<DayDate> {
+        private int next;
+        private final int end;
+        private final int boundary;
+        private final Day firstDayOfWeek;
+
+        DaySpliterator(int next, int end, int boundary, Day firstDayOfWeek) {
+            this.next = next;
+            this.end = Math.max(next, end);
+            this.boundary = boundary;
+            this.firstDayOfWeek = firstDayOfWeek;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super DayDate> action) {
+            if (next >= end) return false;
+            action.accept(DayDateFactory.makeDate(next++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super DayDate> action) {
+            int i = next;
+            next = end;
+            for (; i < end; i++) action.accept(DayDateFactory.makeDate(i));
+        }
+
+        @Override
+        public Spliterator<DayDate> trySplit() {
+            int mid = align(next + (end - next) / 2);
+            if (mid <= next || mid >= end) return null;
+            Spliterator<DayDate> prefix = new DaySpliterator(next, mid, boundary, firstDayOfWeek);
+            next = mid;
+            return prefix;
+        }
+
+        /** Moves a split point back to the start of its month or week, or forward if that leaves nothing before it. */
+        private int align(int mid) {
+            if (boundary == EVEN || mid >= end) return mid;
+            int start;
+            int length;
+            if (boundary == MONTH) {
+                start = mid - OrdinalDates.dayOfMonth(mid) + 1;
+                length = OrdinalDates.endOfMonth(mid) + 1 - start;
+            } else {
+                start = mid - (OrdinalDates.dayOfWeek(mid).index - firstDayOfWeek.index + 7) % 7;
+                length = 7;
+            }
+            return start > next ? start : start + length;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - next;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | SORTED | NONNULL | IMMUTABLE | SIZED | SUBSIZED;
+        }
+
+        @Override
+        public Comparator<? super DayDate> getComparator() {
+            return Comparator.comparingInt(DayDate::getOrdinalDay);
+        }
+    }
+}
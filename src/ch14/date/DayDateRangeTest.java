@@ -0,0 +1,203 @@
+package ch14.date;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.DateInterval.*;
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayDateRangeTest {
+
+    private static DayDate date(int year, int month, int day) {
+        return DayDateFactory.makeDate(LocalDate.of(year, month, day));
+    }
+
+    private static DayOfWeek toDayOfWeek(Day day) {
+        return DayOfWeek.of((day.index + 5) % 7 + 1);
+    }
+
+    /** Splits the spliterator down to its leaves and returns the ordinals each one covers. */
+    private static List<int[]> leaves(Spliterator<DayDate> spliterator) {
+        List<int[]> leaves = new ArrayList<>();
+        Deque<Spliterator<DayDate>> pending = new ArrayDeque<>();
+        pending.push(spliterator);
+        while (!pending.isEmpty()) {
+            Spliterator<DayDate> next = pending.pop();
+            Spliterator<DayDate> prefix = next.trySplit();
+            if (prefix != null) {
+                pending.push(next);
+                pending.push(prefix);
+                continue;
+            }
+            long size = next.estimateSize();
+            List<Integer> ordinals = new ArrayList<>();
+            next.forEachRemaining(date -> ordinals.add(date.getOrdinalDay()));
+            assertEquals(size, ordinals.size());
+            leaves.add(ordinals.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return leaves;
+    }
+
+    private static void assertLeavesCoverRange(List<int[]> leaves, int first, int last) {
+        int expected = first;
+        for (int[] leaf : leaves) {
+            for (int ordinal : leaf) assertEquals(expected++, ordinal);
+        }
+        assertEquals(last + 1, expected);
+    }
+
+    @Test
+    public void testIntervalsAndEndpointOrder() throws Exception {
+        DayDate d1 = date(2024, 1, 1);
+        DayDate d2 = date(2024, 1, 10);
+        assertEquals(10, new DayDateRange(d1, d2).size());
+        assertEquals(10, new DayDateRange(d2, d1).size());
+        assertEquals(9, new DayDateRange(d1, d2, CLOSED_LEFT).size());
+        assertEquals(9, new DayDateRange(d1, d2, CLOSED_RIGHT).size());
+        assertEquals(8, new DayDateRange(d2, d1, OPEN).size());
+        assertEquals(d1.plusDays(1), new DayDateRange(d1, d2, OPEN).getFirst());
+        assertEquals(d2.plusDays(-1), new DayDateRange(d1, d2, OPEN).getLast());
+        assertEquals(d2.plusDays(-1), new DayDateRange(d1, d2, CLOSED_LEFT).getLast());
+
+        DayDateRange range = new DayDateRange(d1, d2, CLOSED_RIGHT);
+        assertFalse(range.contains(d1));
+        assertTrue(range.contains(d2));
+        assertTrue(range.contains(date(2024, 1, 5)));
+    }
+
+    @Test
+    public void testEmptyRanges() throws Exception {
+        DayDate d1 = date(2024, 1, 1);
+        DayDateRange open = new DayDateRange(d1, d1.plusDays(1), OPEN);
+        DayDateRange halfOpen = new DayDateRange(d1, d1, CLOSED_LEFT);
+        for (DayDateRange range : new DayDateRange[] {open, halfOpen}) {
+            assertTrue(range.isEmpty());
+            assertEquals(0, range.size());
+            assertFalse(range.contains(d1));
+            assertEquals(0, range.stream().count());
+            assertEquals(0, range.streamByMonth().count());
+            assertEquals(0, range.streamByWeek(Day.MONDAY).count());
+            assertEquals(0, range.ordinals(3).count());
+            assertEquals(0, range.weekly(Day.FRIDAY).count());
+            assertEquals(0, range.monthly().count());
+            assertFalse(range.iterator().hasNext());
+        }
+        assertEquals(1, new DayDateRange(d1, d1).size());
+    }
+
+    @Test
+    public void testIterationMatchesLocalDate() throws Exception {
+        LocalDate first = LocalDate.of(2023, 11, 17);
+        LocalDate last = LocalDate.of(2025, 3, 2);
+        DayDateRange range = new DayDateRange(DayDateFactory.makeDate(first), DayDateFactory.makeDate(last));
+        assertEquals(first.datesUntil(last.plusDays(1)).count(), range.size());
+
+        Iterator<DayDate> iterator = range.iterator();
+        for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+            assertEquals(date, iterator.next().toLocalDate());
+        }
+        assertFalse(iterator.hasNext());
+
+        assertEquals(first.datesUntil(last.plusDays(1), java.time.Period.ofDays(5)).collect(Collectors.toList()),
+                range.stream(5).map(DayDate::toLocalDate).collect(Collectors.toList()));
+        assertEquals(range.ordinals().boxed().collect(Collectors.toList()),
+                range.stream().map(DayDate::getOrdinalDay).collect(Collectors.toList()));
+        assertThrows(IllegalArgumentException.class, () -> range.ordinals(0));
+    }
+
+    @Test
+    public void testWeeklyMatchesLocalDate() throws Exception {
+        LocalDate first = LocalDate.of(2024, 2, 14);
+        LocalDate last = LocalDate.of(2024, 6, 30);
+        DayDateRange range = new DayDateRange(DayDateFactory.makeDate(first), DayDateFactory.makeDate(last));
+        for (Day day : Day.values()) {
+            LocalDate start = first.with(TemporalAdjusters.nextOrSame(toDayOfWeek(day)));
+            List<LocalDate> expected = start.datesUntil(last.plusDays(1), java.time.Period.ofWeeks(1))
+                    .collect(Collectors.toList());
+            assertEquals(expected, range.weekly(day).map(DayDate::toLocalDate).collect(Collectors.toList()), day.name());
+        }
+    }
+
+    @Test
+    public void testMonthlyMatchesLocalDate() throws Exception {
+        int[][] ends = {{2024, 1, 31}, {2023, 1, 31}, {2024, 2, 29}, {2024, 3, 15}};
+        for (int[] end : ends) {
+            LocalDate first = LocalDate.of(end[0], end[1], end[2]);
+            for (int months = 0; months < 30; months++) {
+                LocalDate last = first.plusMonths(months).plusDays(months % 3 - 1);
+                if (last.isBefore(first)) continue;
+                List<LocalDate> expected = new ArrayList<>();
+                for (int i = 0; !first.plusMonths(i).isAfter(last); i++) expected.add(first.plusMonths(i));
+                DayDateRange range = new DayDateRange(DayDateFactory.makeDate(first), DayDateFactory.makeDate(last));
+                assertEquals(expected, range.monthly().map(DayDate::toLocalDate).collect(Collectors.toList()),
+                        first + ".." + last);
+            }
+        }
+    }
+
+    @Test
+    public void testEvenSplitsCoverRangeWithoutOverlap() throws Exception {
+        DayDateRange range = new DayDateRange(date(1999, 5, 17), date(2003, 8, 2));
+        Spliterator<DayDate> spliterator = range.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED));
+        assertEquals(range.size(), spliterator.estimateSize());
+        Spliterator<DayDate> prefix = spliterator.trySplit();
+        assertEquals(range.size(), prefix.estimateSize() + spliterator.estimateSize());
+        assertTrue(Math.abs(prefix.estimateSize() - spliterator.estimateSize()) <= 1);
+        assertLeavesCoverRange(leaves(range.spliterator()), range.getFirst().getOrdinalDay(), range.getLast().getOrdinalDay());
+    }
+
+    @Test
+    public void testMonthSplitsFallOnMonthBoundaries() throws Exception {
+        DayDateRange range = new DayDateRange(date(2019, 3, 12), date(2022, 10, 20));
+        List<int[]> leaves = leaves(range.streamByMonth().spliterator());
+        assertTrue(leaves.size() > 1);
+        assertLeavesCoverRange(leaves, range.getFirst().getOrdinalDay(), range.getLast().getOrdinalDay());
+        for (int[] leaf : leaves) {
+            int firstMonth = OrdinalDates.month(leaf[0]);
+            int lastMonth = OrdinalDates.month(leaf[leaf.length - 1]);
+            assertEquals(firstMonth, lastMonth);
+            if (leaf[0] != range.getFirst().getOrdinalDay()) assertEquals(1, OrdinalDates.dayOfMonth(leaf[0]));
+        }
+    }
+
+    @Test
+    public void testWeekSplitsFallOnWeekBoundaries() throws Exception {
+        DayDateRange range = new DayDateRange(date(2021, 1, 6), date(2021, 12, 30));
+        for (Day firstDayOfWeek : Day.values()) {
+            List<int[]> leaves = leaves(range.streamByWeek(firstDayOfWeek).spliterator());
+            assertTrue(leaves.size() > 1);
+            assertLeavesCoverRange(leaves, range.getFirst().getOrdinalDay(), range.getLast().getOrdinalDay());
+            for (int[] leaf : leaves) {
+                assertTrue(leaf.length <= 7);
+                if (leaf[0] != range.getFirst().getOrdinalDay())
+                    assertEquals(firstDayOfWeek, OrdinalDates.dayOfWeek(leaf[0]));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelStreamsSeeEveryDayOnce() throws Exception {
+        DayDateRange range = new DayDateRange(DayDateFactory.makeDate(EARLIEST_DATE_ORDINAL),
+                DayDateFactory.makeDate(LATEST_DATE_ORDINAL));
+        assertEquals(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL + 1, range.size());
+        assertEquals(range.size(), range.stream().parallel().count());
+        assertEquals(range.size(), range.streamByMonth().parallel().filter(d -> true).count());
+        assertEquals(range.size(), range.streamByWeek(Day.MONDAY).parallel().map(DayDate::getOrdinalDay).distinct().count());
+        long expectedSum = range.ordinals().asLongStream().sum();
+        assertEquals(expectedSum, range.stream().parallel().mapToLong(DayDate::getOrdinalDay).sum());
+        assertEquals(expectedSum, range.streamByMonth().parallel().mapToLong(DayDate::getOrdinalDay).sum());
+    }
+}
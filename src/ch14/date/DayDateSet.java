@@ -0,0 +1,473 @@
+package ch14.date;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+
+/**
+ * A set of dates keyed by serial ordinal.
+ * <P>
+ * The ordinal range is cut into chunks of 65536 days.  A chunk with at most
+ * 4096 dates holds them as a sorted {@code char[]} of the low 16 bits; a
+ * fuller chunk switches to a 8 KB bitmap.  A full set therefore takes about
+ * 360 KB, and a sparse one two bytes per date.  Set operations return new
+ * sets and work chunk by chunk, merging arrays or combining bitmap words.
+ */
+public class DayDateSet implements Iterable<DayDate> {
+    private static final int CHUNKS = (LATEST_DATE_ORDINAL >>> 16) + 1;
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private final Container[] chunks = new Container[CHUNKS];
+
+    public DayDateSet() {
+    }
+
+    public static DayDateSet of(int... ordinals) {
+        DayDateSet set = new DayDateSet();
+        for (int ordinal : ordinals) set.add(ordinal);
+        return set;
+    }
+
+    public static DayDateSet of(DayDateColumn column) {
+        return of(column.ordinals());
+    }
+
+    /** Adds the date; returns false if it was already present. */
+    public boolean add(int ordinal) {
+        SpreadsheetDate.checkOrdinal(ordinal);
+        int chunk = ordinal >>> 16;
+        Container container = chunks[chunk];
+        if (container == null) container = new ArrayContainer(new char[4], 0);
+        if (container.contains((char) ordinal)) return false;
+        chunks[chunk] = container.add((char) ordinal);
+        return true;
+    }
+
+    public boolean add(DayDate date) {
+        return add(date.getOrdinalDay());
+    }
+
+    /** Removes the date; returns false if it was not present. */
+    public boolean remove(int ordinal) {
+        if (!contains(ordinal)) return false;
+        int chunk = ordinal >>> 16;
+        chunks[chunk] = chunks[chunk].remove((char) ordinal);
+        return true;
+    }
+
+    public boolean remove(DayDate date) {
+        return remove(date.getOrdinalDay());
+    }
+
+    public boolean contains(int ordinal) {
+        if (ordinal < 0 || ordinal > LATEST_DATE_ORDINAL) return false;
+        Container container = chunks[ordinal >>> 16];
+        return container != null && container.contains((char) ordinal);
+    }
+
+    public boolean contains(DayDate date) {
+        return contains(date.getOrdinalDay());
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (Container container : chunks) {
+            if (container != null) count += container.cardinality();
+        }
+        return count;
+    }
+
+    public boolean isEmpty() {
+        for (Container container : chunks) {
+            if (container != null) return false;
+        }
+        return true;
+    }
+
+    /** Number of dates in the set before the given ordinal. */
+    public int rank(int ordinal) {
+        if (ordinal < 0) return 0;
+        int chunk = Math.min(ordinal >>> 16, CHUNKS);
+        int count = 0;
+        for (int c = 0; c < chunk; c++) {
+            if (chunks[c] != null) count += chunks[c].cardinality();
+        }
+        if (chunk < CHUNKS && chunks[chunk] != null) count += chunks[chunk].rank((char) ordinal);
+        return count;
+    }
+
+    public DayDateSet union(DayDateSet other) {
+        DayDateSet result = new DayDateSet();
+        for (int c = 0; c < CHUNKS; c++) result.chunks[c] = Container.or(chunks[c], other.chunks[c]);
+        return result;
+    }
+
+    public DayDateSet intersection(DayDateSet other) {
+        DayDateSet result = new DayDateSet();
+        for (int c = 0; c < CHUNKS; c++) result.chunks[c] = Container.and(chunks[c], other.chunks[c]);
+        return result;
+    }
+
+    public DayDateSet difference(DayDateSet other) {
+        DayDateSet result = new DayDateSet();
+        for (int c = 0; c < CHUNKS; c++) result.chunks[c] = Container.andNot(chunks[c], other.chunks[c]);
+        return result;
+    }
+
+    /** Returns the dates of this set that fall in the given range. */
+    public DayDateSet subSet(int d1, int d2, DateInterval interval) {
+        int lo = Math.max(0, DateRangeFilter.lowerBound(d1, d2, interval));
+        int hi = Math.min(LATEST_DATE_ORDINAL, DateRangeFilter.upperBound(d1, d2, interval));
+        DayDateSet result = new DayDateSet();
+        for (int c = lo >>> 16; lo <= hi && c <= hi >>> 16; c++) {
+            if (chunks[c] == null) continue;
+            int from = c == lo >>> 16 ? lo & 0xFFFF : 0;
+            int to = c == hi >>> 16 ? hi & 0xFFFF : 0xFFFF;
+            result.chunks[c] = chunks[c].range(from, to);
+        }
+        return result;
+    }
+
+    public DayDateSet subSet(DayDate d1, DayDate d2, DateInterval interval) {
+        return subSet(d1.getOrdinalDay(), d2.getOrdinalDay(), interval);
+    }
+
+    /** Visits the ordinals in ascending order. */
+    public void forEachOrdinal(IntConsumer action) {
+        for (int c = 0; c < CHUNKS; c++) {
+            if (chunks[c] != null) chunks[c].forEach(c << 16, action);
+        }
+    }
+
+    /** The ordinals in ascending order, read from the containers as the stream is consumed. */
+    public IntStream ordinals() {
+        return StreamSupport.intStream(Spliterators.spliterator(new OrdinalIterator(), cardinality(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public Iterator<DayDate> iterator() {
+        PrimitiveIterator.OfInt ordinals = new OrdinalIterator();
+        return new Iterator<DayDate>() {
+            @Override
+            public boolean hasNext() {
+                return ordinals.hasNext();
+            }
+
+            @Override
+            public DayDate next() {
+                return DayDateFactory.makeDate(ordinals.nextInt());
+            }
+        };
+    }
+
+    /** Walks the chunks in order, reading each container through its own cursor. */
+    private final class OrdinalIterator implements PrimitiveIterator.OfInt {
+        private int chunk = -1;
+        private PrimitiveIterator.OfInt values;
+
+        @Override
+        public boolean hasNext() {
+            while (values == null || !values.hasNext()) {
+                do {
+                    if (++chunk >= CHUNKS) return false;
+                } while (chunks[chunk] == null);
+                values = chunks[chunk].iterator(chunk << 16);
+            }
+            return true;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return values.nextInt();
+        }
+    }
+
+    private abstract static class Container {
+        abstract boolean contains(char value);
+
+        /** Adds a value that is not present yet. */
+        abstract Container add(char value);
+
+        /** Removes a value that is present; returns null when nothing is left. */
+        abstract Container remove(char value);
+
+        abstract int cardinality();
+
+        /** Number of values less than {@code value}. */
+        abstract int rank(char value);
+
+        /** Values between {@code from} and {@code to} inclusive, or null if there are none. */
+        abstract Container range(int from, int to);
+
+        abstract void forEach(int base, IntConsumer action);
+
+        /** Values in ascending order, each plus {@code base}. */
+        abstract PrimitiveIterator.OfInt iterator(int base);
+
+        abstract long[] toWords();
+
+        static Container fromWords(long[] words) {
+            int cardinality = 0;
+            for (long word : words) cardinality += Long.bitCount(word);
+            if (cardinality == 0) return null;
+            if (cardinality > ARRAY_LIMIT) return new BitmapContainer(words, cardinality);
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                for (long word = words[w]; word != 0; word &= word - 1) {
+                    values[n++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                }
+            }
+            return new ArrayContainer(values, cardinality);
+        }
+
+        static Container or(Container a, Container b) {
+            if (a == null) return b == null ? null : b.range(0, 0xFFFF);
+            if (b == null) return a.range(0, 0xFFFF);
+            if (a instanceof ArrayContainer && b instanceof ArrayContainer
+                    && a.cardinality() + b.cardinality() <= ARRAY_LIMIT)
+                return ArrayContainer.merge((ArrayContainer) a, (ArrayContainer) b, true, true, true);
+            long[] words = a.toWords();
+            long[] other = b.toWords();
+            for (int w = 0; w < BITMAP_WORDS; w++) words[w] |= other[w];
+            return fromWords(words);
+        }
+
+        static Container and(Container a, Container b) {
+            if (a == null || b == null) return null;
+            if (a instanceof ArrayContainer && b instanceof ArrayContainer)
+                return ArrayContainer.merge((ArrayContainer) a, (ArrayContainer) b, false, false, true);
+            long[] words = a.toWords();
+            long[] other = b.toWords();
+            for (int w = 0; w < BITMAP_WORDS; w++) words[w] &= other[w];
+            return fromWords(words);
+        }
+
+        static Container andNot(Container a, Container b) {
+            if (a == null) return null;
+            if (b == null) return a.range(0, 0xFFFF);
+            if (a instanceof ArrayContainer && b instanceof ArrayContainer)
+                return ArrayContainer.merge((ArrayContainer) a, (ArrayContainer) b, true, false, false);
+            long[] words = a.toWords();
+            long[] other = b.toWords();
+            for (int w = 0; w < BITMAP_WORDS; w++) words[w] &= ~other[w];
+            return fromWords(words);
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int size;
+
+        ArrayContainer(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        Container add(char value) {
+            if (size == ARRAY_LIMIT) {
+                long[] words = toWords();
+                words[value >>> 6] |= 1L << value;
+                return new BitmapContainer(words, size + 1);
+            }
+            int index = -Arrays.binarySearch(values, 0, size, value) - 1;
+            if (size == values.length) values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, size * 2));
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            return size == 0 ? null : this;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        int rank(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        @Override
+        Container range(int from, int to) {
+            int start = rank((char) from);
+            int end = to == 0xFFFF ? size : rank((char) (to + 1));
+            if (start >= end) return null;
+            return new ArrayContainer(Arrays.copyOfRange(values, start, end), end - start);
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < size; i++) action.accept(base + values[i]);
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator(int base) {
+            return new PrimitiveIterator.OfInt() {
+                private int i;
+
+                @Override
+                public boolean hasNext() {
+                    return i < size;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (i >= size) throw new NoSuchElementException();
+                    return base + values[i++];
+                }
+            };
+        }
+
+        @Override
+        long[] toWords() {
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < size; i++) words[values[i] >>> 6] |= 1L << values[i];
+            return words;
+        }
+
+        /** Merges two sorted arrays, keeping values only in a, only in b, and in both as requested. */
+        static Container merge(ArrayContainer a, ArrayContainer b, boolean onlyA, boolean onlyB, boolean both) {
+            char[] result = new char[a.size + b.size];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < a.size && j < b.size) {
+                char x = a.values[i];
+                char y = b.values[j];
+                if (x < y) {
+                    if (onlyA) result[n++] = x;
+                    i++;
+                } else if (y < x) {
+                    if (onlyB) result[n++] = y;
+                    j++;
+                } else {
+                    if (both) result[n++] = x;
+                    i++;
+                    j++;
+                }
+            }
+            if (onlyA) while (i < a.size) result[n++] = a.values[i++];
+            if (onlyB) while (j < b.size) result[n++] = b.values[j++];
+            return n == 0 ? null : new ArrayContainer(Arrays.copyOf(result, n), n);
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Container add(char value) {
+            words[value >>> 6] |= 1L << value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            words[value >>> 6] &= ~(1L << value);
+            cardinality--;
+            return cardinality <= ARRAY_LIMIT ? fromWords(words) : this;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        int rank(char value) {
+            int word = value >>> 6;
+            int count = Long.bitCount(words[word] & ((1L << value) - 1));
+            for (int w = 0; w < word; w++) count += Long.bitCount(words[w]);
+            return count;
+        }
+
+        @Override
+        Container range(int from, int to) {
+            long[] copy = new long[BITMAP_WORDS];
+            int firstWord = from >>> 6;
+            int lastWord = to >>> 6;
+            System.arraycopy(words, firstWord, copy, firstWord, lastWord - firstWord + 1);
+            copy[firstWord] &= -1L << from;
+            copy[lastWord] &= -1L >>> (63 - (to & 63));
+            return fromWords(copy);
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                for (long word = words[w]; word != 0; word &= word - 1) {
+                    action.accept(base + (w << 6) + Long.numberOfTrailingZeros(word));
+                }
+            }
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator(int base) {
+            return new PrimitiveIterator.OfInt() {
+                private int w;
+                private long word = words[0];
+
+                @Override
+                public boolean hasNext() {
+                    while (word == 0) {
+                        if (++w >= BITMAP_WORDS) return false;
+                        word = words[w];
+                    }
+                    return true;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    int value = base + (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    return value;
+                }
+            };
+        }
+
+        @Override
+        long[] toWords() {
+            return words.clone();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package ch14.date;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.DateInterval.*;
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayDateSetTest {
+    private final Random random = new Random(42);
+
+    /**
+     * Random dates spread over the whole range, plus a few chunks filled
+     * densely enough to be held as bitmaps.
+     */
+    private TreeSet<Integer> randomDates() {
+        TreeSet<Integer> dates = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            dates.add(EARLIEST_DATE_ORDINAL + random.nextInt(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL + 1));
+        }
+        for (int chunk : new int[] {1, 2, 3, 45}) {
+            double density = 0.05 + random.nextDouble() * 0.9;
+            for (int low = 0; low < 65536; low++) {
+                int ordinal = (chunk << 16) + low;
+                if (ordinal <= LATEST_DATE_ORDINAL && random.nextDouble() < density) dates.add(ordinal);
+            }
+        }
+        return dates;
+    }
+
+    private static DayDateSet toSet(TreeSet<Integer> dates) {
+        return DayDateSet.of(dates.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static void assertSameDates(TreeSet<Integer> expected, DayDateSet actual) {
+        assertEquals(expected.size(), actual.cardinality());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        assertEquals(new ArrayList<>(expected), actual.ordinals().boxed().collect(Collectors.toList()));
+        List<Integer> visited = new ArrayList<>();
+        actual.forEachOrdinal(visited::add);
+        assertEquals(new ArrayList<>(expected), visited);
+    }
+
+    @Test
+    public void testAddRemoveAndContains() throws Exception {
+        TreeSet<Integer> expected = randomDates();
+        DayDateSet set = toSet(expected);
+        assertSameDates(expected, set);
+        for (int i = 0; i < 200_000; i++) {
+            int ordinal = random.nextBoolean()
+                    ? EARLIEST_DATE_ORDINAL + random.nextInt(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL + 1)
+                    : (1 << 16) + random.nextInt(3 << 16);
+            assertEquals(expected.contains(ordinal), set.contains(ordinal));
+            if (random.nextBoolean()) assertEquals(expected.add(ordinal), set.add(ordinal));
+            else assertEquals(expected.remove(ordinal), set.remove(ordinal));
+        }
+        assertSameDates(expected, set);
+
+        DayDate date = DayDateFactory.makeDate(1, 1, 2000);
+        assertEquals(!set.contains(date), set.add(date));
+        assertTrue(set.contains(date));
+        assertTrue(set.remove(date));
+        assertFalse(set.remove(date));
+        assertFalse(set.contains(-1));
+        assertFalse(set.contains(LATEST_DATE_ORDINAL + 1));
+        assertThrows(IllegalArgumentException.class, () -> set.add(LATEST_DATE_ORDINAL + 1));
+    }
+
+    @Test
+    public void testBitmapChunkShrinksBackToArray() throws Exception {
+        DayDateSet set = new DayDateSet();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int ordinal = 1 << 16; ordinal < (1 << 16) + 10_000; ordinal++) {
+            set.add(ordinal);
+            expected.add(ordinal);
+        }
+        assertSameDates(expected, set);
+        for (int ordinal = (1 << 16) + 9_999; ordinal >= (1 << 16) + 100; ordinal--) {
+            if (ordinal % 3 != 0) {
+                set.remove(ordinal);
+                expected.remove(ordinal);
+            }
+        }
+        assertSameDates(expected, set);
+    }
+
+    @Test
+    public void testAlgebraMatchesTreeSet() throws Exception {
+        for (int round = 0; round < 3; round++) {
+            TreeSet<Integer> a = randomDates();
+            TreeSet<Integer> b = randomDates();
+            DayDateSet setA = toSet(a);
+            DayDateSet setB = toSet(b);
+
+            TreeSet<Integer> union = new TreeSet<>(a);
+            union.addAll(b);
+            TreeSet<Integer> intersection = new TreeSet<>(a);
+            intersection.retainAll(b);
+            TreeSet<Integer> difference = new TreeSet<>(a);
+            difference.removeAll(b);
+
+            assertSameDates(union, setA.union(setB));
+            assertSameDates(intersection, setA.intersection(setB));
+            assertSameDates(difference, setA.difference(setB));
+            assertSameDates(a, setA.union(new DayDateSet()));
+            assertSameDates(new TreeSet<>(), setA.intersection(new DayDateSet()));
+            assertSameDates(new TreeSet<>(), setA.difference(setA));
+            assertSameDates(a, setA);
+        }
+    }
+
+    @Test
+    public void testSubSetMatchesTreeSet() throws Exception {
+        TreeSet<Integer> dates = randomDates();
+        DayDateSet set = toSet(dates);
+        for (int i = 0; i < 200; i++) {
+            int d1 = EARLIEST_DATE_ORDINAL + random.nextInt(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL + 1);
+            int d2 = i % 2 == 0 ? d1 + random.nextInt(300_000) - 100_000 : random.nextInt(4 << 16);
+            d2 = Math.max(EARLIEST_DATE_ORDINAL, Math.min(LATEST_DATE_ORDINAL, d2));
+            DateInterval interval = DateInterval.values()[i % 4];
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (int ordinal : dates) {
+                if (OrdinalDates.isInRange(ordinal, d1, d2, interval)) expected.add(ordinal);
+            }
+            assertSameDates(expected, set.subSet(d1, d2, interval));
+        }
+        assertSameDates(dates, set.subSet(EARLIEST_DATE_ORDINAL, LATEST_DATE_ORDINAL, CLOSED));
+        assertTrue(set.subSet(100_000, 100_001, OPEN).isEmpty());
+        DayDate first = DayDateFactory.makeDate(dates.first());
+        assertEquals(1, set.subSet(first, first, CLOSED).cardinality());
+    }
+
+    @Test
+    public void testRankMatchesTreeSet() throws Exception {
+        TreeSet<Integer> dates = randomDates();
+        DayDateSet set = toSet(dates);
+        int[] sorted = dates.stream().mapToInt(Integer::intValue).toArray();
+        assertEquals(0, set.rank(-1));
+        assertEquals(0, set.rank(Integer.MIN_VALUE));
+        assertEquals(0, set.rank(0));
+        assertEquals(dates.size(), set.rank(LATEST_DATE_ORDINAL + 1));
+        assertEquals(dates.size(), set.rank(Integer.MAX_VALUE));
+        for (int i = 0; i < 20_000; i++) {
+            int ordinal = i % 2 == 0
+                    ? random.nextInt(LATEST_DATE_ORDINAL + 1)
+                    : (1 << 16) + random.nextInt(3 << 16);
+            int position = Arrays.binarySearch(sorted, ordinal);
+            assertEquals(position >= 0 ? position : -position - 1, set.rank(ordinal), Integer.toString(ordinal));
+        }
+        int k = 0;
+        for (int ordinal : dates) assertEquals(k++, set.rank(ordinal));
+    }
+
+    @Test
+    public void testIteratorIsLazyAndOrdered() throws Exception {
+        TreeSet<Integer> dates = randomDates();
+        DayDateSet set = toSet(dates);
+        Iterator<DayDate> iterator = set.iterator();
+        for (int ordinal : dates) {
+            assertTrue(iterator.hasNext());
+            assertEquals(ordinal, iterator.next().getOrdinalDay());
+        }
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+
+        assertEquals(dates.size(), set.ordinals().spliterator().getExactSizeIfKnown());
+        assertEquals(dates.first().intValue(), set.ordinals().findFirst().getAsInt());
+        assertEquals(dates.stream().limit(5000).collect(Collectors.toList()),
+                set.ordinals().limit(5000).boxed().collect(Collectors.toList()));
+        assertFalse(new DayDateSet().iterator().hasNext());
+        assertEquals(0, new DayDateSet().ordinals().count());
+    }
+}
@@ -0,0 +1,118 @@
+package ch14.date;
+
+/**
+ * An annual date rule for a given weekday in a given week of a month, such
+ * as the third Monday in January or the last Monday in May.
+ * <P>
+ * The date is worked out from the weekday of the first (or last) day of the
+ * month, so no intermediate dates are created.
+ */
+public class DayOfWeekInMonthRule extends AnnualDateRule {
+
+    /** The week of the month. */
+    private WeekInMonth weekInMonth;
+
+    /** The day of the week. */
+    private Day dayOfWeek;
+
+    /** The month (uses 1 to 12 in the obvious way). */
+    private int month;
+
+    /**
+     * Default constructor: builds a rule for the first Monday in January.
+     */
+    public DayOfWeekInMonthRule() {
+        this(WeekInMonth.FIRST, Day.MONDAY, MonthConstants.JANUARY);
+    }
+
+    /**
+     * Standard constructor.
+     *
+     * @param weekInMonth  the week of the month (FIRST to FOURTH, or LAST).
+     * @param dayOfWeek  the day of the week.
+     * @param month  the month (use MonthConstants.JANUARY, MonthConstants.FEBRUARY etc.).
+     */
+    public DayOfWeekInMonthRule(final WeekInMonth weekInMonth, final Day dayOfWeek, final int month) {
+        setWeekInMonth(weekInMonth);
+        setDayOfWeek(dayOfWeek);
+        setMonth(month);
+    }
+
+    /**
+     * Returns the week of the month.
+     *
+     * @return the week of the month.
+     */
+    public WeekInMonth getWeekInMonth() {
+        return this.weekInMonth;
+    }
+
+    /**
+     * Sets the week of the month.
+     *
+     * @param weekInMonth  the week of the month.
+     */
+    public void setWeekInMonth(final WeekInMonth weekInMonth) {
+        if (weekInMonth == null) {
+            throw new IllegalArgumentException("DayOfWeekInMonthRule(): null weekInMonth.");
+        }
+        this.weekInMonth = weekInMonth;
+    }
+
+    /**
+     * Returns the day of the week.
+     *
+     * @return the day of the week.
+     */
+    public Day getDayOfWeek() {
+        return this.dayOfWeek;
+    }
+
+    /**
+     * Sets the day of the week.
+     *
+     * @param dayOfWeek  the day of the week.
+     */
+    public void setDayOfWeek(final Day dayOfWeek) {
+        if (dayOfWeek == null) {
+            throw new IllegalArgumentException("DayOfWeekInMonthRule(): null dayOfWeek.");
+        }
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    /**
+     * Returns the month.
+     *
+     * @return the month.
+     */
+    public int getMonth() {
+        return this.month;
+    }
+
+    /**
+     * Sets the month.
+     *
+     * @param month  the month (1 to 12).
+     */
+    public void setMonth(final int month) {
+        if ((month < MonthConstants.JANUARY) || (month > MonthConstants.DECEMBER)) {
+            throw new IllegalArgumentException("DayOfWeekInMonthRule(): month outside valid range.");
+        }
+        this.month = month;
+    }
+
+    public DayDate getDate(final int yyyy) {
+        return DayDateFactory.makeDate(getOrdinal(yyyy));
+    }
+
+    public int getOrdinal(final int yyyy) {
+        int firstOfMonth = OrdinalDates.ordinal(1, this.month, yyyy);
+        if (this.weekInMonth == WeekInMonth.LAST) {
+            int lastOfMonth = OrdinalDates.endOfMonth(firstOfMonth);
+            int daysBack = (OrdinalDates.dayOfWeek(lastOfMonth).index - this.dayOfWeek.index + 7) % 7;
+            return lastOfMonth - daysBack;
+        }
+        int daysForward = (this.dayOfWeek.index - OrdinalDates.dayOfWeek(firstOfMonth).index + 7) % 7;
+        return firstOfMonth + daysForward + 7 * (this.weekInMonth.index - 1);
+    }
+}
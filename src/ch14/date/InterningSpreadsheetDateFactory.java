@@ -0,0 +1,97 @@
+package ch14.date;
+
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static ch14.date.SpreadsheetDate.MAXIMUM_YEAR_SUPPORTED;
+import static ch14.date.SpreadsheetDate.MINIMUM_YEAR_SUPPORTED;
+
+/**
+ * A {@link SpreadsheetDateFactory} that hands out one shared instance per
+ * ordinal.  Instances are created lazily and kept in one segment per year,
+ * so only the years that are actually used take memory.
+ * <P>
+ * Only dates between {@code firstCachedYear} and {@code lastCachedYear} are
+ * cached; dates outside that window are still created on every call.  Inside
+ * the window {@code a == b} holds exactly when {@code a.isOn(b)}.
+ * <P>
+ * Install it with {@code DayDateFactory.setInstance(new InterningSpreadsheetDateFactory())}.
+ */
+public class InterningSpreadsheetDateFactory extends SpreadsheetDateFactory {
+    private final int firstCachedYear;
+    private final int lastCachedYear;
+    private final int firstCachedOrdinal;
+    private final int lastCachedOrdinal;
+    private final AtomicReferenceArray<AtomicReferenceArray<DayDate>> segments;
+
+    public InterningSpreadsheetDateFactory() {
+        this(MINIMUM_YEAR_SUPPORTED, MAXIMUM_YEAR_SUPPORTED);
+    }
+
+    public InterningSpreadsheetDateFactory(int firstCachedYear, int lastCachedYear) {
+        this(null, firstCachedYear, lastCachedYear);
+    }
+
+    /** Converts {@link java.util.Date}s in the given zone; null follows the default zone. */
+    public InterningSpreadsheetDateFactory(ZoneId zone) {
+        this(zone, MINIMUM_YEAR_SUPPORTED, MAXIMUM_YEAR_SUPPORTED);
+    }
+
+    public InterningSpreadsheetDateFactory(ZoneId zone, int firstCachedYear, int lastCachedYear) {
+        super(zone);
+        if(firstCachedYear < MINIMUM_YEAR_SUPPORTED || lastCachedYear > MAXIMUM_YEAR_SUPPORTED
+                || firstCachedYear > lastCachedYear)
+            throw new IllegalArgumentException("Non Valid Year Window");
+        this.firstCachedYear = firstCachedYear;
+        this.lastCachedYear = lastCachedYear;
+        this.firstCachedOrdinal = DateTables.YEAR_START[firstCachedYear - MINIMUM_YEAR_SUPPORTED];
+        this.lastCachedOrdinal = DateTables.YEAR_START[lastCachedYear - MINIMUM_YEAR_SUPPORTED + 1] - 1;
+        this.segments = new AtomicReferenceArray<>(lastCachedYear - firstCachedYear + 1);
+    }
+
+    public int getFirstCachedYear() {
+        return firstCachedYear;
+    }
+
+    public int getLastCachedYear() {
+        return lastCachedYear;
+    }
+
+    @Override
+    public DayDate _makeDate(int ordinal) {
+        SpreadsheetDate.checkOrdinal(ordinal);
+        if(ordinal < firstCachedOrdinal || ordinal > lastCachedOrdinal)
+            return new SpreadsheetDate(ordinal);
+
+        int yearIndex = DateTables.yearIndexOf(ordinal);
+        AtomicReferenceArray<DayDate> segment = segmentFor(yearIndex);
+        int slot = ordinal - DateTables.YEAR_START[yearIndex];
+        DayDate date = segment.get(slot);
+        if(date != null) return date;
+
+        DayDate created = new SpreadsheetDate(ordinal);
+        if(segment.compareAndSet(slot, null, created)) return created;
+        return segment.get(slot);
+    }
+
+    @Override
+    public DayDate _makeDate(int day, Month month, int year) {
+        return _makeDate(SpreadsheetDate.ordinalOf(day, month, year));
+    }
+
+    @Override
+    public DayDate _makeDate(int day, int month, int year) {
+        return _makeDate(day, Month.make(month), year);
+    }
+
+    private AtomicReferenceArray<DayDate> segmentFor(int yearIndex) {
+        int segmentIndex = yearIndex + MINIMUM_YEAR_SUPPORTED - firstCachedYear;
+        AtomicReferenceArray<DayDate> segment = segments.get(segmentIndex);
+        if(segment != null) return segment;
+
+        int daysInYear = DateTables.YEAR_START[yearIndex + 1] - DateTables.YEAR_START[yearIndex];
+        AtomicReferenceArray<DayDate> created = new AtomicReferenceArray<>(daysInYear);
+        if(segments.compareAndSet(segmentIndex, null, created)) return created;
+        return segments.get(segmentIndex);
+    }
+}
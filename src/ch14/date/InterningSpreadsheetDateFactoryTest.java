@@ -0,0 +1,48 @@
+package ch14.date;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterningSpreadsheetDateFactoryTest {
+
+    @Test
+    public void testSameInstanceInsideWindow() throws Exception {
+        InterningSpreadsheetDateFactory factory = new InterningSpreadsheetDateFactory(2000, 2010);
+        DayDate date = factory._makeDate(1, 6, 2005);
+        assertSame(date, factory._makeDate(date.getOrdinalDay()));
+        assertSame(date, factory._makeDate(1, Month.JUNE, 2005));
+        assertSame(date, factory._makeDate(date.toLocalDate()));
+    }
+
+    @Test
+    public void testNewInstanceOutsideWindow() throws Exception {
+        InterningSpreadsheetDateFactory factory = new InterningSpreadsheetDateFactory(2000, 2010);
+        DayDate date = factory._makeDate(31, 12, 1999);
+        assertNotSame(date, factory._makeDate(31, 12, 1999));
+        assertEquals(date, factory._makeDate(31, 12, 1999));
+    }
+
+    @Test
+    public void testWindowIsValidated() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> new InterningSpreadsheetDateFactory(1899, 2000));
+        assertThrows(IllegalArgumentException.class, () -> new InterningSpreadsheetDateFactory(2000, 10000));
+        assertThrows(IllegalArgumentException.class, () -> new InterningSpreadsheetDateFactory(2010, 2000));
+    }
+
+    @Test
+    public void testZoneIsPassedToParent() throws Exception {
+        // 2001-09-08T23:53:20Z, already 9 September in Tokyo.
+        Date instant = new Date(999_993_200_000L);
+        InterningSpreadsheetDateFactory tokyo = new InterningSpreadsheetDateFactory(ZoneId.of("Asia/Tokyo"));
+        InterningSpreadsheetDateFactory utc = new InterningSpreadsheetDateFactory(ZoneOffset.UTC, 2000, 2010);
+        assertEquals(ZoneId.of("Asia/Tokyo"), tokyo.getZone());
+        assertEquals(9, tokyo._makeDate(instant).getDayOfMonth());
+        assertEquals(8, utc._makeDate(instant).getDayOfMonth());
+        assertSame(utc._makeDate(instant), utc._makeDate(instant));
+    }
+}
@@ -0,0 +1,270 @@
+package ch14.date;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A column of serial ordinals stored in a file and read through memory
+ * mapping.
+ * <P>
+ * The file is a 32-byte header (magic number, version, count, minimum and
+ * maximum ordinal, flags) followed by the ordinals as little-endian ints.
+ * {@link #open(Path)} maps the data read-only in segments of 1 GB, so
+ * columns of more than 2<sup>29</sup> dates work even though a single
+ * mapping is limited to 2 GB.  Queries read the mapped pages directly; only
+ * the pages they touch are loaded.
+ * <P>
+ * When the column is sorted, range queries binary search for the matching
+ * rows.  Otherwise {@link #count} and {@link #aggregate} scan the segments
+ * on the common fork/join pool, while {@link #forEachInRange} scans them on
+ * the calling thread so that rows are reported in order.  The mapping is
+ * released when the column is garbage collected.
+ * <P>
+ * {@link #open(Path)} checks that the header's minimum and maximum are
+ * supported ordinals in order, but trusts the header otherwise: reading
+ * every row to confirm the sorted flag and the bounds would cost as much as
+ * a query.  A file whose rows disagree with its header gives wrong query
+ * results, so only files written by {@link #write(Path, int[])} should be
+ * opened.
+ */
+public final class MappedDayDateColumn {
+    private static final int MAGIC = 0x44444331;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int SORTED = 1;
+    private static final int DEFAULT_SEGMENT_BITS = 28;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private final IntBuffer[] segments;
+    private final int segmentBits;
+    private final long count;
+    private final int min;
+    private final int max;
+    private final boolean sorted;
+
+    private MappedDayDateColumn(IntBuffer[] segments, int segmentBits, long count, int min, int max, boolean sorted) {
+        this.segments = segments;
+        this.segmentBits = segmentBits;
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.sorted = sorted;
+    }
+
+    /**
+     * Writes the ordinals to a new file, replacing any existing one.
+     *
+     * @throws IllegalArgumentException if an ordinal is outside the supported range.
+     */
+    public static void write(Path path, int[] ordinals) throws IOException {
+        int lo = Integer.MAX_VALUE;
+        int hi = Integer.MIN_VALUE;
+        boolean ascending = true;
+        for (int i = 0; i < ordinals.length; i++) {
+            SpreadsheetDate.checkOrdinal(ordinals[i]);
+            lo = Math.min(lo, ordinals[i]);
+            hi = Math.max(hi, ordinals[i]);
+            if (i > 0 && ordinals[i] < ordinals[i - 1]) ascending = false;
+        }
+        if (ordinals.length == 0) {
+            lo = 0;
+            hi = 0;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(ordinals.length)
+                    .putInt(lo).putInt(hi).putInt(ascending ? SORTED : 0).putInt(0);
+            for (int ordinal : ordinals) {
+                if (!buffer.hasRemaining()) drain(channel, buffer);
+                buffer.putInt(ordinal);
+            }
+            drain(channel, buffer);
+            channel.force(false);
+        }
+    }
+
+    public static void write(Path path, DayDateColumn column) throws IOException {
+        write(path, column.ordinals());
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Maps a file written by {@link #write(Path, int[])}.
+     *
+     * @throws IOException if the file cannot be read, is not a date column
+     *         file, or its header has an unsupported or reversed minimum and
+     *         maximum.
+     */
+    public static MappedDayDateColumn open(Path path) throws IOException {
+        return open(path, DEFAULT_SEGMENT_BITS);
+    }
+
+    /** Maps the file with segments of {@code 2^segmentBits} ordinals. */
+    static MappedDayDateColumn open(Path path, int segmentBits) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION)
+                throw new IOException("Not A Date Column File: " + path);
+            long count = header.getLong();
+            int min = header.getInt();
+            int max = header.getInt();
+            boolean sorted = (header.getInt() & SORTED) != 0;
+            if (count < 0 || channel.size() < HEADER_SIZE + 4 * count)
+                throw new IOException("Truncated Date Column File: " + path);
+            if (count > 0 && (!OrdinalDates.isValid(min) || !OrdinalDates.isValid(max) || min > max))
+                throw new IOException("Non Valid Date Column Header: " + path);
+
+            long segmentSize = 1L << segmentBits;
+            IntBuffer[] segments = new IntBuffer[(int) ((count + segmentSize - 1) >>> segmentBits)];
+            for (int s = 0; s < segments.length; s++) {
+                long first = s * segmentSize;
+                long length = Math.min(segmentSize, count - first);
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + 4 * first, 4 * length)
+                        .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            }
+            return new MappedDayDateColumn(segments, segmentBits, count, min, max, sorted);
+        }
+    }
+
+    public long size() {
+        return count;
+    }
+
+    /** Smallest ordinal in the column; 0 when the column is empty. */
+    public int getMin() {
+        return min;
+    }
+
+    /** Largest ordinal in the column; 0 when the column is empty. */
+    public int getMax() {
+        return max;
+    }
+
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    public int getOrdinal(long index) {
+        if (index < 0 || index >= count)
+            throw new IndexOutOfBoundsException("Non Valid Index: " + index);
+        return segments[(int) (index >>> segmentBits)].get((int) (index & ((1L << segmentBits) - 1)));
+    }
+
+    public DayDate get(long index) {
+        return DayDateFactory.makeDate(getOrdinal(index));
+    }
+
+    /** {@link DayDate#isInRange(DayDate, DayDate, DateInterval)} for one row. */
+    public boolean isInRange(long index, int d1, int d2, DateInterval interval) {
+        return OrdinalDates.isInRange(getOrdinal(index), d1, d2, interval);
+    }
+
+    /** Number of rows whose date is in the range. */
+    public long count(int d1, int d2, DateInterval interval) {
+        int lo = DateRangeFilter.lowerBound(d1, d2, interval);
+        int hi = DateRangeFilter.upperBound(d1, d2, interval);
+        if (lo > hi || count == 0 || hi < min || lo > max) return 0;
+        if (sorted) return firstIndexAbove(hi) - firstIndexAbove(lo - 1);
+        return IntStream.range(0, taskCount()).parallel().mapToLong(t -> {
+            long matches = 0;
+            for (long i = taskStart(t), end = taskStart(t + 1); i < end; ) {
+                IntBuffer segment = segments[(int) (i >>> segmentBits)];
+                int from = (int) (i & ((1L << segmentBits) - 1));
+                int to = (int) Math.min(segment.limit(), from + (end - i));
+                for (int j = from; j < to; j++) {
+                    int ordinal = segment.get(j);
+                    if (ordinal >= lo && ordinal <= hi) matches++;
+                }
+                i += to - from;
+            }
+            return matches;
+        }).sum();
+    }
+
+    /** Reports, in ascending order, the index of every row whose date is in the range. */
+    public void forEachInRange(int d1, int d2, DateInterval interval, LongConsumer action) {
+        int lo = DateRangeFilter.lowerBound(d1, d2, interval);
+        int hi = DateRangeFilter.upperBound(d1, d2, interval);
+        if (lo > hi || count == 0 || hi < min || lo > max) return;
+        if (sorted) {
+            for (long i = firstIndexAbove(lo - 1), end = firstIndexAbove(hi); i < end; i++) action.accept(i);
+            return;
+        }
+        for (int s = 0; s < segments.length; s++) {
+            IntBuffer segment = segments[s];
+            long base = (long) s << segmentBits;
+            for (int j = 0; j < segment.limit(); j++) {
+                int ordinal = segment.get(j);
+                if (ordinal >= lo && ordinal <= hi) action.accept(base + j);
+            }
+        }
+    }
+
+    /** First index whose ordinal is greater than {@code ordinal}; the column must be sorted. */
+    private long firstIndexAbove(int ordinal) {
+        long lo = 0;
+        long hi = count;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (getOrdinal(mid) <= ordinal) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Aggregates {@code values[i]} per bucket of row {@code i}, like
+     * {@link CalendarBuckets#aggregate(int[], double[])}.
+     *
+     * @throws IllegalArgumentException if the value column is not as long as this column.
+     */
+    public BucketStats.OfDouble aggregate(CalendarBuckets buckets, double[] values) {
+        if (values.length != count)
+            throw new IllegalArgumentException("Column Size Mismatch");
+        return buckets.aggregate(this::ordinalAt, values.length, min, max, values);
+    }
+
+    /**
+     * Like {@link #aggregate(CalendarBuckets, double[])} with exact {@code long} sums.
+     *
+     * @throws ArithmeticException if a bucket sum overflows a {@code long}.
+     */
+    public BucketStats.OfLong aggregate(CalendarBuckets buckets, long[] values) {
+        if (values.length != count)
+            throw new IllegalArgumentException("Column Size Mismatch");
+        return buckets.aggregate(this::ordinalAt, values.length, min, max, values);
+    }
+
+    /** {@link #getOrdinal(long)} without the bounds check, for rows below 2<sup>31</sup>. */
+    private int ordinalAt(int index) {
+        return segments[index >>> segmentBits].get(index & ((1 << segmentBits) - 1));
+    }
+
+    private int taskCount() {
+        long chunks = (count + DayDateColumn.PARALLEL_THRESHOLD - 1) / DayDateColumn.PARALLEL_THRESHOLD;
+        return (int) Math.max(1, Math.min(chunks, ForkJoinPool.getCommonPoolParallelism()));
+    }
+
+    private long taskStart(int task) {
+        int tasks = taskCount();
+        return task >= tasks ? count : count / tasks * task + Math.min(task, count % tasks);
+    }
+}
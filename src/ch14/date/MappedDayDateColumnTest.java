@@ -0,0 +1,177 @@
+package ch14.date;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static ch14.date.DateInterval.*;
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedDayDateColumnTest {
+    private static final int BASE = OrdinalDates.ordinal(1, 1, 2000);
+
+    @TempDir
+    Path directory;
+
+    private final Random random = new Random(42);
+
+    private int[] randomOrdinals(int rows) {
+        int[] ordinals = new int[rows];
+        for (int i = 0; i < rows; i++) ordinals[i] = BASE + random.nextInt(5000);
+        return ordinals;
+    }
+
+    private MappedDayDateColumn writeAndOpen(int[] ordinals, int segmentBits) throws IOException {
+        Path path = directory.resolve("column-" + random.nextInt() + ".dat");
+        MappedDayDateColumn.write(path, ordinals);
+        return MappedDayDateColumn.open(path, segmentBits);
+    }
+
+    private static void assertMatchesBruteForce(int[] ordinals, MappedDayDateColumn column, Random random) {
+        for (int k = 0; k < 300; k++) {
+            int d1 = BASE - 100 + random.nextInt(5200);
+            int d2 = d1 + random.nextInt(800) - 200;
+            DateInterval interval = DateInterval.values()[k % 4];
+            List<Long> expected = new ArrayList<>();
+            for (int i = 0; i < ordinals.length; i++) {
+                if (OrdinalDates.isInRange(ordinals[i], d1, d2, interval)) expected.add((long) i);
+            }
+            assertEquals(expected.size(), column.count(d1, d2, interval), d1 + " " + d2 + " " + interval);
+            List<Long> reported = new ArrayList<>();
+            column.forEachInRange(d1, d2, interval, reported::add);
+            assertEquals(expected, reported);
+        }
+    }
+
+    @Test
+    public void testRoundTripAcrossSegments() throws Exception {
+        int[] ordinals = randomOrdinals(3 * DayDateColumn.PARALLEL_THRESHOLD + 5);
+        ordinals[17] = EARLIEST_DATE_ORDINAL;
+        ordinals[18] = LATEST_DATE_ORDINAL;
+        for (int segmentBits : new int[] {10, 16, 28}) {
+            MappedDayDateColumn column = writeAndOpen(ordinals, segmentBits);
+            assertEquals(ordinals.length, column.size());
+            assertFalse(column.isSorted());
+            assertEquals(EARLIEST_DATE_ORDINAL, column.getMin());
+            assertEquals(LATEST_DATE_ORDINAL, column.getMax());
+            for (int i = 0; i < ordinals.length; i++) {
+                if (column.getOrdinal(i) != ordinals[i]) fail(segmentBits + " " + i);
+            }
+            assertEquals(DayDateFactory.makeDate(ordinals[1000]), column.get(1000));
+            assertTrue(column.isInRange(17, EARLIEST_DATE_ORDINAL, BASE, CLOSED));
+            assertFalse(column.isInRange(17, EARLIEST_DATE_ORDINAL, BASE, OPEN));
+            assertThrows(IndexOutOfBoundsException.class, () -> column.getOrdinal(ordinals.length));
+            assertThrows(IndexOutOfBoundsException.class, () -> column.getOrdinal(-1));
+        }
+
+        Path path = directory.resolve("from-column.dat");
+        MappedDayDateColumn.write(path, new DayDateColumn(ordinals));
+        assertEquals(ordinals[12345], MappedDayDateColumn.open(path).getOrdinal(12345));
+    }
+
+    @Test
+    public void testQueriesMatchBruteForce() throws Exception {
+        int[] unsorted = randomOrdinals(20_000);
+        int[] sorted = unsorted.clone();
+        Arrays.sort(sorted);
+        for (int segmentBits : new int[] {10, 28}) {
+            MappedDayDateColumn unsortedColumn = writeAndOpen(unsorted, segmentBits);
+            MappedDayDateColumn sortedColumn = writeAndOpen(sorted, segmentBits);
+            assertFalse(unsortedColumn.isSorted());
+            assertTrue(sortedColumn.isSorted());
+            assertMatchesBruteForce(unsorted, unsortedColumn, random);
+            assertMatchesBruteForce(sorted, sortedColumn, random);
+        }
+
+        int[] large = randomOrdinals(3 * DayDateColumn.PARALLEL_THRESHOLD + 5);
+        MappedDayDateColumn column = writeAndOpen(large, 12);
+        long expected = Arrays.stream(large).filter(o -> o >= BASE + 100 && o < BASE + 900).count();
+        assertEquals(expected, column.count(BASE + 100, BASE + 900, CLOSED_LEFT));
+        assertEquals(expected, column.count(BASE + 900, BASE + 100, CLOSED_LEFT));
+        assertEquals(large.length, column.count(Integer.MIN_VALUE, Integer.MAX_VALUE, OPEN));
+        assertEquals(0, column.count(Integer.MAX_VALUE, Integer.MAX_VALUE, OPEN));
+        assertEquals(0, column.count(Integer.MIN_VALUE, Integer.MIN_VALUE, OPEN));
+    }
+
+    @Test
+    public void testAggregateMatchesInMemoryColumn() throws Exception {
+        int[] ordinals = randomOrdinals(2 * DayDateColumn.PARALLEL_THRESHOLD + 3);
+        double[] doubles = new double[ordinals.length];
+        long[] longs = new long[ordinals.length];
+        for (int i = 0; i < ordinals.length; i++) {
+            longs[i] = random.nextInt(1000);
+            doubles[i] = longs[i];
+        }
+        MappedDayDateColumn column = writeAndOpen(ordinals, 12);
+        for (CalendarBuckets buckets : new CalendarBuckets[] {CalendarBuckets.weeks(Day.MONDAY), CalendarBuckets.months()}) {
+            BucketStats.OfLong expected = buckets.aggregate(ordinals, longs);
+            BucketStats.OfLong actual = column.aggregate(buckets, longs);
+            BucketStats.OfDouble actualDoubles = column.aggregate(buckets, doubles);
+            assertEquals(expected.size(), actual.size());
+            for (int b = 0; b < expected.size(); b++) {
+                assertEquals(expected.getBucket(b), actual.getBucket(b));
+                assertEquals(expected.getCount(b), actual.getCount(b));
+                assertEquals(expected.getSum(b), actual.getSum(b));
+                assertEquals(expected.getMin(b), actual.getMin(b));
+                assertEquals(expected.getMax(b), actual.getMax(b));
+                assertEquals(expected.getSum(b), (long) actualDoubles.getSum(b));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> column.aggregate(CalendarBuckets.months(), new long[1]));
+    }
+
+    @Test
+    public void testEmptyColumn() throws Exception {
+        MappedDayDateColumn column = writeAndOpen(new int[0], 28);
+        assertEquals(0, column.size());
+        assertEquals(0, column.getMin());
+        assertEquals(0, column.getMax());
+        assertEquals(0, column.count(EARLIEST_DATE_ORDINAL, LATEST_DATE_ORDINAL, CLOSED));
+        column.forEachInRange(EARLIEST_DATE_ORDINAL, LATEST_DATE_ORDINAL, CLOSED, i -> fail());
+        assertEquals(0, column.aggregate(CalendarBuckets.years(), new double[0]).size());
+        assertEquals(0, column.aggregate(CalendarBuckets.years(), new long[0]).size());
+    }
+
+    @Test
+    public void testBadFilesAreRejected() throws Exception {
+        Path garbage = directory.resolve("garbage.dat");
+        Files.write(garbage, new byte[64]);
+        assertThrows(IOException.class, () -> MappedDayDateColumn.open(garbage));
+
+        Path tooShort = directory.resolve("short.dat");
+        Files.write(tooShort, new byte[8]);
+        assertThrows(IOException.class, () -> MappedDayDateColumn.open(tooShort));
+
+        Path truncated = directory.resolve("truncated.dat");
+        MappedDayDateColumn.write(truncated, randomOrdinals(100));
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(IOException.class, () -> MappedDayDateColumn.open(truncated));
+
+        // Header fields: magic, version, count, min at byte 16, max at byte 20, flags.
+        Path written = directory.resolve("written.dat");
+        MappedDayDateColumn.write(written, randomOrdinals(100));
+        byte[] header = Files.readAllBytes(written);
+        for (int[] bounds : new int[][] {{BASE + 10, BASE}, {0, BASE}, {BASE, LATEST_DATE_ORDINAL + 1}, {-1, -1}}) {
+            ByteBuffer edited = ByteBuffer.wrap(header.clone()).order(ByteOrder.LITTLE_ENDIAN);
+            edited.putInt(16, bounds[0]).putInt(20, bounds[1]);
+            Path badHeader = directory.resolve("bad-header.dat");
+            Files.write(badHeader, edited.array());
+            assertThrows(IOException.class, () -> MappedDayDateColumn.open(badHeader), Arrays.toString(bounds));
+        }
+
+        Path outOfRange = directory.resolve("out-of-range.dat");
+        assertThrows(IllegalArgumentException.class, () -> MappedDayDateColumn.write(outOfRange, new int[] {BASE, 0}));
+    }
+}
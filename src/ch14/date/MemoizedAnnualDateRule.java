@@ -0,0 +1,107 @@
+package ch14.date;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import static ch14.date.SpreadsheetDate.MAXIMUM_YEAR_SUPPORTED;
+import static ch14.date.SpreadsheetDate.MINIMUM_YEAR_SUPPORTED;
+
+/**
+ * Wraps an {@link AnnualDateRule} and remembers the date it gives for each
+ * year, in a dense table covering every supported year.
+ * <P>
+ * Years are filled in on first use, or all at once by {@link #precompute()}.
+ * Years in which the wrapped rule gives no date are remembered as
+ * {@link #NO_DATE}.  The wrapped rule must not be changed once it is
+ * wrapped.  The table is an atomic array, so it is safe to read and fill
+ * from several threads: a year computed twice by two threads gives the same
+ * ordinal.
+ */
+public class MemoizedAnnualDateRule extends AnnualDateRule {
+
+    /** Table entry of a year that has not been computed yet. */
+    private static final int NOT_COMPUTED = 0;
+
+    /** The rule whose dates are remembered. */
+    private final AnnualDateRule rule;
+
+    /** Ordinal or NO_DATE per year, offset by MINIMUM_YEAR_SUPPORTED; NOT_COMPUTED until computed. */
+    private AtomicIntegerArray ordinals = new AtomicIntegerArray(MAXIMUM_YEAR_SUPPORTED - MINIMUM_YEAR_SUPPORTED + 1);
+
+    /**
+     * Creates a memoizing wrapper.
+     *
+     * @param rule  the rule to wrap.
+     */
+    public MemoizedAnnualDateRule(final AnnualDateRule rule) {
+        if (rule == null) {
+            throw new IllegalArgumentException("MemoizedAnnualDateRule(): null rule.");
+        }
+        this.rule = rule;
+    }
+
+    /**
+     * Returns the wrapped rule.
+     *
+     * @return the wrapped rule.
+     */
+    public AnnualDateRule getRule() {
+        return this.rule;
+    }
+
+    /**
+     * Computes every supported year in parallel.  Years in which the wrapped
+     * rule gives no date are recorded as such.
+     *
+     * @return this rule.
+     */
+    public MemoizedAnnualDateRule precompute() {
+        IntStream.rangeClosed(MINIMUM_YEAR_SUPPORTED, MAXIMUM_YEAR_SUPPORTED).parallel().forEach(this::findOrdinal);
+        return this;
+    }
+
+    public DayDate getDate(final int year) {
+        return DayDateFactory.makeDate(getOrdinal(year));
+    }
+
+    public int getOrdinal(final int year) {
+        if (year < MINIMUM_YEAR_SUPPORTED || year > MAXIMUM_YEAR_SUPPORTED) {
+            throw new IllegalArgumentException("MemoizedAnnualDateRule: year outside valid range.");
+        }
+        int ordinal = findOrdinal(year);
+        if (ordinal == NO_DATE) {
+            throw new IllegalArgumentException("MemoizedAnnualDateRule: no date in year " + year + ".");
+        }
+        return ordinal;
+    }
+
+    public int findOrdinal(final int year) {
+        if (year < MINIMUM_YEAR_SUPPORTED || year > MAXIMUM_YEAR_SUPPORTED) {
+            return NO_DATE;
+        }
+        int index = year - MINIMUM_YEAR_SUPPORTED;
+        int ordinal = this.ordinals.get(index);
+        if (ordinal == NOT_COMPUTED) {
+            ordinal = this.rule.findOrdinal(year);
+            this.ordinals.set(index, ordinal);
+        }
+        return ordinal;
+    }
+
+    /**
+     * Returns a clone of the rule with its own table.
+     *
+     * @return a clone of the rule.
+     *
+     * @throws CloneNotSupportedException never.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        MemoizedAnnualDateRule clone = (MemoizedAnnualDateRule) super.clone();
+        AtomicIntegerArray table = new AtomicIntegerArray(this.ordinals.length());
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, this.ordinals.get(i));
+        }
+        clone.ordinals = table;
+        return clone;
+    }
+}
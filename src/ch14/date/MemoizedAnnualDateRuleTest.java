@@ -0,0 +1,108 @@
+package ch14.date;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.AnnualDateRule.NO_DATE;
+import static ch14.date.SpreadsheetDate.MAXIMUM_YEAR_SUPPORTED;
+import static ch14.date.SpreadsheetDate.MINIMUM_YEAR_SUPPORTED;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoizedAnnualDateRuleTest {
+
+    /** A rule for 29 February, which gives no date outside leap years. */
+    private static DayAndMonthRule leapDay() {
+        DayAndMonthRule rule = new DayAndMonthRule(29, MonthConstants.JANUARY);
+        rule.setMonth(MonthConstants.FEBRUARY);
+        return rule;
+    }
+
+    private static final class CountingRule extends AnnualDateRule {
+        private final AnnualDateRule rule;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingRule(AnnualDateRule rule) {
+            this.rule = rule;
+        }
+
+        public DayDate getDate(int year) {
+            calls.incrementAndGet();
+            return rule.getDate(year);
+        }
+    }
+
+    @Test
+    public void testFindOrdinalAndGetDates() throws Exception {
+        AnnualDateRule rule = leapDay();
+        assertEquals(NO_DATE, rule.findOrdinal(2023));
+        assertEquals(NO_DATE, rule.findOrdinal(1900));
+        assertEquals(NO_DATE, rule.findOrdinal(MINIMUM_YEAR_SUPPORTED - 1));
+        assertEquals(NO_DATE, rule.findOrdinal(MAXIMUM_YEAR_SUPPORTED + 1));
+        assertEquals(DayDateFactory.makeDate(LocalDate.of(2024, 2, 29)).getOrdinalDay(), rule.findOrdinal(2024));
+
+        int[] dates = rule.getDates(1896, 2012);
+        int[] parallel = rule.getDates(1896, 2012, true);
+        assertArrayEquals(dates, parallel);
+        assertEquals(28, dates.length);
+        for (int ordinal : dates) {
+            LocalDate date = DayDateFactory.makeDate(ordinal).toLocalDate();
+            assertTrue(date.isLeapYear());
+            assertEquals(29, date.getDayOfMonth());
+        }
+        assertEquals(2000, OrdinalDates.year(dates[24]));
+        assertThrows(IllegalArgumentException.class, () -> rule.getDates(2001, 2000));
+    }
+
+    @Test
+    public void testMemoizedRuleMatchesWrappedRule() throws Exception {
+        AnnualDateRule rule = new DayOfWeekInMonthRule(WeekInMonth.THIRD, Day.MONDAY, MonthConstants.JANUARY);
+        MemoizedAnnualDateRule memoized = new MemoizedAnnualDateRule(rule);
+        for (int year = MINIMUM_YEAR_SUPPORTED; year <= MAXIMUM_YEAR_SUPPORTED; year++) {
+            assertEquals(rule.getOrdinal(year), memoized.getOrdinal(year));
+        }
+        assertEquals(rule.getDate(2024), memoized.getDate(2024));
+        assertArrayEquals(rule.getDates(1900, 9999), memoized.getDates(1900, 9999));
+        assertSame(rule, memoized.getRule());
+    }
+
+    @Test
+    public void testEachYearIsComputedOnce() throws Exception {
+        CountingRule counting = new CountingRule(new DayAndMonthRule(25, MonthConstants.DECEMBER));
+        MemoizedAnnualDateRule memoized = new MemoizedAnnualDateRule(counting);
+        memoized.getOrdinal(2024);
+        memoized.getDate(2024);
+        memoized.findOrdinal(2024);
+        assertEquals(1, counting.calls.get());
+
+        memoized.precompute();
+        assertEquals(MAXIMUM_YEAR_SUPPORTED - MINIMUM_YEAR_SUPPORTED + 1, counting.calls.get());
+        memoized.getDates(1900, 9999, true);
+        assertEquals(MAXIMUM_YEAR_SUPPORTED - MINIMUM_YEAR_SUPPORTED + 1, counting.calls.get());
+    }
+
+    @Test
+    public void testNoDateYearsAreRememberedAndRejected() throws Exception {
+        CountingRule counting = new CountingRule(leapDay());
+        MemoizedAnnualDateRule memoized = new MemoizedAnnualDateRule(counting).precompute();
+        int calls = counting.calls.get();
+        assertEquals(NO_DATE, memoized.findOrdinal(2023));
+        assertEquals(NO_DATE, memoized.findOrdinal(2100));
+        assertThrows(IllegalArgumentException.class, () -> memoized.getOrdinal(2023));
+        assertThrows(IllegalArgumentException.class, () -> memoized.getDate(1900));
+        assertEquals(calls, counting.calls.get());
+        assertEquals(1964, memoized.getDates(1900, 9999).length);
+        assertArrayEquals(leapDay().getDates(1900, 9999), memoized.getDates(1900, 9999));
+    }
+
+    @Test
+    public void testOutOfRangeYears() throws Exception {
+        MemoizedAnnualDateRule memoized = new MemoizedAnnualDateRule(new DayAndMonthRule());
+        assertEquals(NO_DATE, memoized.findOrdinal(MINIMUM_YEAR_SUPPORTED - 1));
+        assertEquals(NO_DATE, memoized.findOrdinal(MAXIMUM_YEAR_SUPPORTED + 1));
+        assertThrows(IllegalArgumentException.class, () -> memoized.getOrdinal(MINIMUM_YEAR_SUPPORTED - 1));
+        assertThrows(IllegalArgumentException.class, () -> memoized.getOrdinal(MAXIMUM_YEAR_SUPPORTED + 1));
+        assertThrows(IllegalArgumentException.class, () -> new MemoizedAnnualDateRule(null));
+    }
+}
@@ -0,0 +1,208 @@
+package ch14.date;
+
+import java.time.ZoneId;
+
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.MINIMUM_YEAR_SUPPORTED;
+
+/**
+ * Date arithmetic and queries on {@link SpreadsheetDate} serial ordinals,
+ * without creating {@link DayDate} objects.
+ * <P>
+ * Arguments are expected to be valid ordinals (see {@link #isValid(int)}).
+ * The arithmetic methods ({@code plusDays}, {@code plusMonths},
+ * {@code plusYears} and the day-of-week adjusters) check their result and
+ * throw {@link IllegalArgumentException} when it falls outside the
+ * supported range, just as {@link DayDate}'s methods of the same names do.
+ * The conversions from epoch days and epoch milliseconds are not checked,
+ * so callers can test the result with {@link #isValid(int)}.
+ *
+ * @see DayDate
+ */
+public final class OrdinalDates {
+
+    private OrdinalDates() {
+    }
+
+    public static boolean isValid(int ordinal) {
+        return ordinal >= EARLIEST_DATE_ORDINAL && ordinal <= LATEST_DATE_ORDINAL;
+    }
+
+    /**
+     * Returns the ordinal of the given date.
+     *
+     * @throws IllegalArgumentException if the date is not supported.
+     */
+    public static int ordinal(int day, int month, int year) {
+        return SpreadsheetDate.ordinalOf(day, Month.make(month), year);
+    }
+
+    public static int year(int ordinal) {
+        return DateTables.yearOf(ordinal);
+    }
+
+    /** Returns the month of the ordinal, 1 to 12. */
+    public static int month(int ordinal) {
+        int yearIndex = DateTables.yearIndexOf(ordinal);
+        return DateTables.monthIndexOf(yearIndex, ordinal - DateTables.YEAR_START[yearIndex]);
+    }
+
+    public static int dayOfMonth(int ordinal) {
+        int yearIndex = DateTables.yearIndexOf(ordinal);
+        int dayOfYear = ordinal - DateTables.YEAR_START[yearIndex];
+        int month = DateTables.monthIndexOf(yearIndex, dayOfYear);
+        return dayOfYear - DateTables.aggregateDaysFor(yearIndex)[month] + 1;
+    }
+
+    /** Returns the day count used by {@link java.time.LocalDate#toEpochDay()}. */
+    public static long toEpochDay(int ordinal) {
+        return (long) ordinal - SpreadsheetDate.UNIX_EPOCH_ORDINAL;
+    }
+
+    /** Inverse of {@link #toEpochDay(int)}; the result is not range checked. */
+    public static int fromEpochDay(long epochDay) {
+        return (int) (epochDay + SpreadsheetDate.UNIX_EPOCH_ORDINAL);
+    }
+
+    public static void toEpochDays(int[] ordinals, long[] out) {
+        for (int i = 0; i < ordinals.length; i++) {
+            out[i] = (long) ordinals[i] - SpreadsheetDate.UNIX_EPOCH_ORDINAL;
+        }
+    }
+
+    public static void fromEpochDays(long[] epochDays, int[] out) {
+        for (int i = 0; i < epochDays.length; i++) {
+            out[i] = (int) (epochDays[i] + SpreadsheetDate.UNIX_EPOCH_ORDINAL);
+        }
+    }
+
+    /** Returns the instant at which the day starts in the given zone, in milliseconds since 1970-01-01T00:00Z. */
+    public static long toEpochMillis(int ordinal, ZoneId zone) {
+        return ZoneOffsets.of(zone).midnightEpochMillis(ordinal);
+    }
+
+    /** Returns the ordinal of the day on which the instant falls in the given zone. */
+    public static int fromEpochMillis(long epochMillis, ZoneId zone) {
+        return fromEpochMillis(epochMillis, ZoneOffsets.of(zone));
+    }
+
+    /** Bulk version of {@link #fromEpochMillis(long, ZoneId)}. */
+    public static void fromEpochMillis(long[] epochMillis, ZoneId zone, int[] out) {
+        ZoneOffsets offsets = ZoneOffsets.of(zone);
+        for (int i = 0; i < epochMillis.length; i++) {
+            out[i] = fromEpochMillis(epochMillis[i], offsets);
+        }
+    }
+
+    static int fromEpochMillis(long epochMillis, ZoneOffsets offsets) {
+        long localMillis = epochMillis + offsets.offsetAtInstant(epochMillis);
+        long ordinal = Math.floorDiv(localMillis, ZoneOffsets.MILLIS_PER_DAY) + SpreadsheetDate.UNIX_EPOCH_ORDINAL;
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, ordinal));
+    }
+
+    public static Day dayOfWeek(int ordinal) {
+        return DateTables.dayOfWeekOf(ordinal);
+    }
+
+    /**
+     * Adds days.
+     *
+     * @throws IllegalArgumentException if the result is not supported.
+     */
+    public static int plusDays(int ordinal, int days) {
+        int result = ordinal + days;
+        SpreadsheetDate.checkOrdinal(result);
+        return result;
+    }
+
+    /**
+     * Adds months, moving the day back to the last day of the resulting month
+     * when the month is shorter (31 January plus one month is 28 or 29 February).
+     *
+     * @throws IllegalArgumentException if the result is not supported.
+     */
+    public static int plusMonths(int ordinal, int months) {
+        int yearIndex = DateTables.yearIndexOf(ordinal);
+        int dayOfYear = ordinal - DateTables.YEAR_START[yearIndex];
+        int month = DateTables.monthIndexOf(yearIndex, dayOfYear);
+        int day = dayOfYear - DateTables.aggregateDaysFor(yearIndex)[month] + 1;
+
+        int resultMonthAsOrdinal = 12 * (MINIMUM_YEAR_SUPPORTED + yearIndex) + month - 1 + months;
+        int resultYear = Math.floorDiv(resultMonthAsOrdinal, 12);
+        int resultMonth = Math.floorMod(resultMonthAsOrdinal, 12) + 1;
+        return correctedOrdinal(day, resultMonth, resultYear);
+    }
+
+    /**
+     * Adds years, moving 29 February back to 28 February in other years.
+     *
+     * @throws IllegalArgumentException if the result is not supported.
+     */
+    public static int plusYears(int ordinal, int years) {
+        int yearIndex = DateTables.yearIndexOf(ordinal);
+        int dayOfYear = ordinal - DateTables.YEAR_START[yearIndex];
+        int month = DateTables.monthIndexOf(yearIndex, dayOfYear);
+        int day = dayOfYear - DateTables.aggregateDaysFor(yearIndex)[month] + 1;
+        return correctedOrdinal(day, month, MINIMUM_YEAR_SUPPORTED + yearIndex + years);
+    }
+
+    private static int correctedOrdinal(int day, int month, int year) {
+        int yearIndex = year - MINIMUM_YEAR_SUPPORTED;
+        if(yearIndex < 0 || yearIndex >= DateTables.YEAR_COUNT)
+            throw new IllegalArgumentException("Non Valid Year");
+        int[] aggregateDays = DateTables.aggregateDaysFor(yearIndex);
+        int lastDayOfMonth = aggregateDays[month + 1] - aggregateDays[month];
+        if(day > lastDayOfMonth) day = lastDayOfMonth;
+        return DateTables.YEAR_START[yearIndex] + aggregateDays[month] + day - 1;
+    }
+
+    public static int endOfMonth(int ordinal) {
+        int yearIndex = DateTables.yearIndexOf(ordinal);
+        int dayOfYear = ordinal - DateTables.YEAR_START[yearIndex];
+        int month = DateTables.monthIndexOf(yearIndex, dayOfYear);
+        return DateTables.YEAR_START[yearIndex] + DateTables.aggregateDaysFor(yearIndex)[month + 1] - 1;
+    }
+
+    /**
+     * Returns the latest {@code targetDayOfWeek} strictly before the date.
+     *
+     * @throws IllegalArgumentException if the result is not supported.
+     */
+    public static int previousDayOfWeek(int ordinal, Day targetDayOfWeek) {
+        int offsetToTarget = targetDayOfWeek.index - dayOfWeek(ordinal).index;
+        if(offsetToTarget >= 0) offsetToTarget -= 7;
+        return plusDays(ordinal, offsetToTarget);
+    }
+
+    /**
+     * Returns the earliest {@code targetDayOfWeek} strictly after the date.
+     *
+     * @throws IllegalArgumentException if the result is not supported.
+     */
+    public static int followingDayOfWeek(int ordinal, Day targetDayOfWeek) {
+        int offsetToTarget = targetDayOfWeek.index - dayOfWeek(ordinal).index;
+        if(offsetToTarget <= 0) offsetToTarget += 7;
+        return plusDays(ordinal, offsetToTarget);
+    }
+
+    /**
+     * Returns the {@code targetDay} within three days of the date.
+     *
+     * @throws IllegalArgumentException if the result is not supported.
+     */
+    public static int nearestDayOfWeek(int ordinal, Day targetDay) {
+        int offsetToThisWeeksTarget = targetDay.index - dayOfWeek(ordinal).index;
+        int offsetToFutureTarget = (offsetToThisWeeksTarget + 7) % 7;
+        int offsetToPreviousTarget = offsetToFutureTarget - 7;
+        if(offsetToFutureTarget > 3) return plusDays(ordinal, offsetToPreviousTarget);
+        return plusDays(ordinal, offsetToFutureTarget);
+    }
+
+    /** Same as {@link DayDate#isInRange(DayDate, DayDate, DateInterval)}: the bounds may be given in either order. */
+    public static boolean isInRange(int ordinal, int d1, int d2, DateInterval interval) {
+        int left = Math.min(d1, d2);
+        int right = Math.max(d1, d2);
+        return interval.isIn(ordinal, left, right);
+    }
+}
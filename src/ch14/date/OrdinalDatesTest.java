@@ -0,0 +1,135 @@
+package ch14.date;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.UNIX_EPOCH_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrdinalDatesTest {
+
+    private static LocalDate localDateOf(int ordinal) {
+        return LocalDate.ofEpochDay(ordinal - UNIX_EPOCH_ORDINAL);
+    }
+
+    private static int ordinalOf(LocalDate date) {
+        return (int) (date.toEpochDay() + UNIX_EPOCH_ORDINAL);
+    }
+
+    private static DayOfWeek javaDayOf(Day day) {
+        return DayOfWeek.of((day.index + 5) % 7 + 1);
+    }
+
+    @Test
+    public void testFieldsMatchJavaTimeOverWholeRange() throws Exception {
+        for (int ordinal = EARLIEST_DATE_ORDINAL; ordinal <= LATEST_DATE_ORDINAL; ordinal++) {
+            LocalDate expected = localDateOf(ordinal);
+            if (OrdinalDates.year(ordinal) != expected.getYear()
+                    || OrdinalDates.month(ordinal) != expected.getMonthValue()
+                    || OrdinalDates.dayOfMonth(ordinal) != expected.getDayOfMonth()
+                    || javaDayOf(OrdinalDates.dayOfWeek(ordinal)) != expected.getDayOfWeek()
+                    || OrdinalDates.toEpochDay(ordinal) != expected.toEpochDay()
+                    || OrdinalDates.fromEpochDay(expected.toEpochDay()) != ordinal
+                    || OrdinalDates.ordinal(expected.getDayOfMonth(), expected.getMonthValue(), expected.getYear()) != ordinal
+                    || OrdinalDates.endOfMonth(ordinal) != ordinalOf(expected.with(TemporalAdjusters.lastDayOfMonth())))
+                fail("ordinal " + ordinal + " is " + expected);
+        }
+    }
+
+    @Test
+    public void testIsValid() throws Exception {
+        assertFalse(OrdinalDates.isValid(EARLIEST_DATE_ORDINAL - 1));
+        assertTrue(OrdinalDates.isValid(EARLIEST_DATE_ORDINAL));
+        assertTrue(OrdinalDates.isValid(LATEST_DATE_ORDINAL));
+        assertFalse(OrdinalDates.isValid(LATEST_DATE_ORDINAL + 1));
+    }
+
+    @Test
+    public void testPlusMonthsAndYearsMatchJavaTime() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            int ordinal = EARLIEST_DATE_ORDINAL + random.nextInt(LATEST_DATE_ORDINAL - EARLIEST_DATE_ORDINAL + 1);
+            LocalDate date = localDateOf(ordinal);
+            int months = random.nextInt(2401) - 1200;
+            int years = random.nextInt(201) - 100;
+            LocalDate plusMonths = date.plusMonths(months);
+            LocalDate plusYears = date.plusYears(years);
+            if (plusMonths.getYear() >= 1900 && plusMonths.getYear() <= 9999)
+                assertEquals(plusMonths, localDateOf(OrdinalDates.plusMonths(ordinal, months)));
+            else
+                assertThrows(IllegalArgumentException.class, () -> OrdinalDates.plusMonths(ordinal, months));
+            if (plusYears.getYear() >= 1900 && plusYears.getYear() <= 9999)
+                assertEquals(plusYears, localDateOf(OrdinalDates.plusYears(ordinal, years)));
+            else
+                assertThrows(IllegalArgumentException.class, () -> OrdinalDates.plusYears(ordinal, years));
+        }
+    }
+
+    @Test
+    public void testPlusMonthsKeepsDayWithinMonth() throws Exception {
+        int endOfJanuary = OrdinalDates.ordinal(31, 1, 2000);
+        assertEquals(OrdinalDates.ordinal(29, 2, 2000), OrdinalDates.plusMonths(endOfJanuary, 1));
+        assertEquals(OrdinalDates.ordinal(28, 2, 2001), OrdinalDates.plusMonths(endOfJanuary, 13));
+        assertEquals(OrdinalDates.ordinal(28, 2, 2001), OrdinalDates.plusYears(OrdinalDates.ordinal(29, 2, 2000), 1));
+    }
+
+    @Test
+    public void testDayOfWeekAdjustersMatchJavaTime() throws Exception {
+        for (int ordinal = OrdinalDates.ordinal(1, 1, 2000); ordinal < OrdinalDates.ordinal(1, 1, 2001); ordinal++) {
+            LocalDate date = localDateOf(ordinal);
+            for (Day day : Day.values()) {
+                DayOfWeek target = javaDayOf(day);
+                assertEquals(date.with(TemporalAdjusters.previous(target)),
+                        localDateOf(OrdinalDates.previousDayOfWeek(ordinal, day)));
+                assertEquals(date.with(TemporalAdjusters.next(target)),
+                        localDateOf(OrdinalDates.followingDayOfWeek(ordinal, day)));
+                int nearest = OrdinalDates.nearestDayOfWeek(ordinal, day);
+                assertEquals(target, localDateOf(nearest).getDayOfWeek());
+                assertTrue(nearest - ordinal >= -3 && nearest - ordinal <= 3);
+            }
+        }
+    }
+
+    @Test
+    public void testIsInRangeAcceptsBoundsInEitherOrder() throws Exception {
+        for (DateInterval interval : DateInterval.values()) {
+            for (int ordinal = 9; ordinal <= 21; ordinal++) {
+                assertEquals(interval.isIn(ordinal, 10, 20), OrdinalDates.isInRange(ordinal, 10, 20, interval));
+                assertEquals(interval.isIn(ordinal, 10, 20), OrdinalDates.isInRange(ordinal, 20, 10, interval));
+            }
+        }
+        assertTrue(OrdinalDates.isInRange(10, 10, 20, DateInterval.CLOSED_LEFT));
+        assertFalse(OrdinalDates.isInRange(20, 10, 20, DateInterval.CLOSED_LEFT));
+    }
+
+    @Test
+    public void testArithmeticRejectsResultsOutsideTheRange() throws Exception {
+        // 1900-01-01 is a Monday and 9999-12-31 a Friday.
+        assertThrows(IllegalArgumentException.class, () -> OrdinalDates.previousDayOfWeek(EARLIEST_DATE_ORDINAL, Day.SUNDAY));
+        assertThrows(IllegalArgumentException.class, () -> OrdinalDates.followingDayOfWeek(LATEST_DATE_ORDINAL, Day.MONDAY));
+        assertThrows(IllegalArgumentException.class, () -> OrdinalDates.nearestDayOfWeek(EARLIEST_DATE_ORDINAL, Day.SATURDAY));
+        assertThrows(IllegalArgumentException.class, () -> OrdinalDates.nearestDayOfWeek(LATEST_DATE_ORDINAL, Day.MONDAY));
+        assertThrows(IllegalArgumentException.class, () -> OrdinalDates.plusDays(LATEST_DATE_ORDINAL, 1));
+        assertThrows(IllegalArgumentException.class, () -> OrdinalDates.plusMonths(EARLIEST_DATE_ORDINAL, -1));
+        assertThrows(IllegalArgumentException.class, () -> OrdinalDates.plusYears(LATEST_DATE_ORDINAL, 1));
+        assertEquals(EARLIEST_DATE_ORDINAL + 6, OrdinalDates.followingDayOfWeek(EARLIEST_DATE_ORDINAL, Day.SUNDAY));
+        assertEquals(LATEST_DATE_ORDINAL - 4, OrdinalDates.previousDayOfWeek(LATEST_DATE_ORDINAL, Day.MONDAY));
+        assertEquals(EARLIEST_DATE_ORDINAL + 2, OrdinalDates.nearestDayOfWeek(EARLIEST_DATE_ORDINAL, Day.WEDNESDAY));
+
+        DayDate first = DayDateFactory.makeDate(EARLIEST_DATE_ORDINAL);
+        assertThrows(IllegalArgumentException.class, () -> first.getPreviousDayOfWeek(Day.FRIDAY));
+        assertThrows(IllegalArgumentException.class, () -> first.plusDays(-1));
+
+        // A weekly range whose next match would lie past 9999-12-31 is empty rather than failing.
+        DayDateRange lastDays = new DayDateRange(
+                DayDateFactory.makeDate(LATEST_DATE_ORDINAL - 1), DayDateFactory.makeDate(LATEST_DATE_ORDINAL));
+        assertEquals(0, lastDays.weeklyOrdinals(Day.MONDAY).count());
+        assertArrayEquals(new int[] {LATEST_DATE_ORDINAL}, lastDays.weeklyOrdinals(Day.FRIDAY).toArray());
+    }
+}
@@ -0,0 +1,158 @@
+package ch14.date;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+
+/**
+ * Key and page bookkeeping shared by the {@code DayDate...Map} classes,
+ * which only add typed accessors for the value array {@code A} of a page.
+ * <P>
+ * The ordinal range is cut into pages of 1024 days.  A page is allocated the
+ * first time one of its days is stored, and keeps a 1024-bit presence mask
+ * next to its value array.  A lookup is two array reads, with no hashing
+ * and no probing.  A page whose last key is removed is released; the most
+ * recently released one is kept to be reused by the next page allocated,
+ * so keys moving back and forth across a page boundary do not allocate.
+ */
+abstract class OrdinalKeyedPages<A> {
+    static final int PAGE_BITS = 10;
+    static final int PAGE_SIZE = 1 << PAGE_BITS;
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+    static final int PAGES = (LATEST_DATE_ORDINAL >>> PAGE_BITS) + 1;
+
+    private final IntFunction<A> newValuePage;
+    private final long[][] present = new long[PAGES][];
+    private final Object[] values = new Object[PAGES];
+    /** Keys on each page. */
+    private final short[] pageSizes = new short[PAGES];
+    private long[] spareMask;
+    private A spareValues;
+    private int size;
+
+    OrdinalKeyedPages(IntFunction<A> newValuePage) {
+        this.newValuePage = newValuePage;
+    }
+
+    /**
+     * Forgets the value of a removed key so it can be collected.  Primitive
+     * values need not be forgotten: a slot is always written when its key is
+     * stored again.
+     */
+    void clearValue(A page, int slot) {
+    }
+
+    /** The value array holding the ordinal; null if none of its page's days is stored. */
+    @SuppressWarnings("unchecked")
+    final A valuePage(int ordinal) {
+        return (A) values[ordinal >>> PAGE_BITS];
+    }
+
+    static int slot(int ordinal) {
+        return ordinal & PAGE_MASK;
+    }
+
+    final boolean isPresent(int ordinal) {
+        if (ordinal < 0 || ordinal > LATEST_DATE_ORDINAL) return false;
+        long[] mask = present[ordinal >>> PAGE_BITS];
+        return mask != null && (mask[(ordinal & PAGE_MASK) >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    /** Marks the ordinal present, allocating its page if needed; returns false if it already was. */
+    final boolean mark(int ordinal) {
+        SpreadsheetDate.checkOrdinal(ordinal);
+        int page = ordinal >>> PAGE_BITS;
+        long[] mask = present[page];
+        if (mask == null) {
+            if (spareMask != null) {
+                mask = spareMask;
+                values[page] = spareValues;
+                spareMask = null;
+                spareValues = null;
+            } else {
+                mask = new long[PAGE_SIZE / 64];
+                values[page] = newValuePage.apply(PAGE_SIZE);
+            }
+            present[page] = mask;
+        }
+        int word = (ordinal & PAGE_MASK) >>> 6;
+        if ((mask[word] & (1L << ordinal)) != 0) return false;
+        mask[word] |= 1L << ordinal;
+        pageSizes[page]++;
+        size++;
+        return true;
+    }
+
+    /** Marks the ordinal absent, releasing its page if it was the last key; returns false if it already was. */
+    final boolean unmark(int ordinal) {
+        if (!isPresent(ordinal)) return false;
+        int page = ordinal >>> PAGE_BITS;
+        present[page][(ordinal & PAGE_MASK) >>> 6] &= ~(1L << ordinal);
+        A valuePage = valuePage(ordinal);
+        clearValue(valuePage, ordinal & PAGE_MASK);
+        size--;
+        if (--pageSizes[page] == 0) {
+            spareMask = present[page];
+            spareValues = valuePage;
+            present[page] = null;
+            values[page] = null;
+        }
+        return true;
+    }
+
+    /** Number of pages holding at least one key. */
+    final int pageCount() {
+        int pages = 0;
+        for (long[] mask : present) {
+            if (mask != null) pages++;
+        }
+        return pages;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int ordinal) {
+        return isPresent(ordinal);
+    }
+
+    public boolean containsKey(DayDate date) {
+        return isPresent(date.getOrdinalDay());
+    }
+
+    public void clear() {
+        Arrays.fill(present, null);
+        Arrays.fill(values, null);
+        Arrays.fill(pageSizes, (short) 0);
+        spareMask = null;
+        spareValues = null;
+        size = 0;
+    }
+
+    /** Visits the keys in ascending order. */
+    public void forEachKey(IntConsumer action) {
+        for (int page = 0; page < PAGES; page++) {
+            long[] mask = present[page];
+            if (mask == null) continue;
+            for (int w = 0; w < mask.length; w++) {
+                for (long bits = mask[w]; bits != 0; bits &= bits - 1) {
+                    action.accept((page << PAGE_BITS) + (w << 6) + Long.numberOfTrailingZeros(bits));
+                }
+            }
+        }
+    }
+
+    public IntStream keys() {
+        IntStream.Builder builder = IntStream.builder();
+        forEachKey(builder);
+        return builder.build();
+    }
+}
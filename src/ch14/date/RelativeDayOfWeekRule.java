@@ -0,0 +1,150 @@
+package ch14.date;
+
+/**
+ * An annual date rule that returns a date in each year based on (a) a
+ * reference rule; (b) a day of the week; and (c) a selection parameter
+ * (LAST, NEAREST or NEXT).
+ * <P>
+ * For example, "the Monday nearest to 4 July" is a RelativeDayOfWeekRule
+ * with a DayAndMonthRule for 4 July, Day.MONDAY and WeekDayRange.NEAREST.
+ * LAST and NEXT never return the reference date itself.
+ */
+public class RelativeDayOfWeekRule extends AnnualDateRule {
+
+    /** A reference to the annual date rule on which this rule is based. */
+    private AnnualDateRule subrule;
+
+    /** The day of the week. */
+    private Day dayOfWeek;
+
+    /** Specifies which day of the week (LAST, NEAREST or NEXT). */
+    private WeekDayRange relative;
+
+    /**
+     * Default constructor - builds a rule for the Monday following 1 January.
+     */
+    public RelativeDayOfWeekRule() {
+        this(new DayAndMonthRule(), Day.MONDAY, WeekDayRange.NEXT);
+    }
+
+    /**
+     * Standard constructor - builds rule based on the supplied sub-rule.
+     *
+     * @param subrule  the rule that determines the reference date.
+     * @param dayOfWeek  the day-of-the-week relative to the reference date.
+     * @param relative  indicates *which* day-of-the-week (LAST, NEAREST or NEXT).
+     */
+    public RelativeDayOfWeekRule(final AnnualDateRule subrule, final Day dayOfWeek, final WeekDayRange relative) {
+        setSubrule(subrule);
+        setDayOfWeek(dayOfWeek);
+        setRelative(relative);
+    }
+
+    /**
+     * Returns the sub-rule.
+     *
+     * @return the sub-rule.
+     */
+    public AnnualDateRule getSubrule() {
+        return this.subrule;
+    }
+
+    /**
+     * Sets the sub-rule.
+     *
+     * @param subrule  the sub-rule.
+     */
+    public void setSubrule(final AnnualDateRule subrule) {
+        if (subrule == null) {
+            throw new IllegalArgumentException("RelativeDayOfWeekRule(): null subrule.");
+        }
+        this.subrule = subrule;
+    }
+
+    /**
+     * Returns the day-of-the-week for this rule.
+     *
+     * @return the day-of-the-week for this rule.
+     */
+    public Day getDayOfWeek() {
+        return this.dayOfWeek;
+    }
+
+    /**
+     * Sets the day-of-the-week for this rule.
+     *
+     * @param dayOfWeek  the day-of-the-week.
+     */
+    public void setDayOfWeek(final Day dayOfWeek) {
+        if (dayOfWeek == null) {
+            throw new IllegalArgumentException("RelativeDayOfWeekRule(): null dayOfWeek.");
+        }
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    /**
+     * Returns the 'relative' attribute, that determines *which*
+     * day-of-the-week we are interested in (LAST, NEAREST or NEXT).
+     *
+     * @return the 'relative' attribute.
+     */
+    public WeekDayRange getRelative() {
+        return this.relative;
+    }
+
+    /**
+     * Sets the 'relative' attribute (LAST, NEAREST or NEXT).
+     *
+     * @param relative  determines *which* day-of-the-week is selected by this rule.
+     */
+    public void setRelative(final WeekDayRange relative) {
+        if (relative == null) {
+            throw new IllegalArgumentException("RelativeDayOfWeekRule(): null relative.");
+        }
+        this.relative = relative;
+    }
+
+    /**
+     * Creates a clone of this rule.
+     *
+     * @return a clone of this rule.
+     *
+     * @throws CloneNotSupportedException if the sub-rule cannot be cloned.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        final RelativeDayOfWeekRule duplicate = (RelativeDayOfWeekRule) super.clone();
+        duplicate.subrule = (AnnualDateRule) duplicate.getSubrule().clone();
+        return duplicate;
+    }
+
+    public DayDate getDate(final int year) {
+        return DayDateFactory.makeDate(getOrdinal(year));
+    }
+
+    /**
+     * Returns the ordinal of the date for this rule, without creating it.
+     *
+     * @param year  the year.
+     *
+     * @return the ordinal of the date for this rule.
+     *
+     * @throws IllegalArgumentException if the date falls outside the
+     *         supported range, as {@link #getDate(int)} does.
+     */
+    public int getOrdinal(final int year) {
+        int base = this.subrule.getOrdinal(year);
+        int ordinal;
+        switch (this.relative) {
+            case LAST:
+                ordinal = OrdinalDates.previousDayOfWeek(base, this.dayOfWeek);
+                break;
+            case NEAREST:
+                ordinal = OrdinalDates.nearestDayOfWeek(base, this.dayOfWeek);
+                break;
+            default:
+                ordinal = OrdinalDates.followingDayOfWeek(base, this.dayOfWeek);
+                break;
+        }
+        return ordinal;
+    }
+}
@@ -0,0 +1,116 @@
+package ch14.date;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.AnnualDateRule.NO_DATE;
+import static ch14.date.SpreadsheetDate.MAXIMUM_YEAR_SUPPORTED;
+import static ch14.date.SpreadsheetDate.MINIMUM_YEAR_SUPPORTED;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelativeDayOfWeekRuleTest {
+
+    private static DayOfWeek toDayOfWeek(Day day) {
+        return DayOfWeek.of((day.index + 5) % 7 + 1);
+    }
+
+    private static LocalDate relative(LocalDate base, DayOfWeek dayOfWeek, WeekDayRange relative) {
+        switch (relative) {
+            case LAST:
+                return base.with(TemporalAdjusters.previous(dayOfWeek));
+            case NEXT:
+                return base.with(TemporalAdjusters.next(dayOfWeek));
+            default:
+                LocalDate next = base.with(TemporalAdjusters.nextOrSame(dayOfWeek));
+                return next.toEpochDay() - base.toEpochDay() > 3 ? next.minusWeeks(1) : next;
+        }
+    }
+
+    @Test
+    public void testRelativeRuleMatchesJavaTime() throws Exception {
+        int[][] subrules = {{1, 1}, {29, 2}, {15, 6}, {31, 12}};
+        for (int[] dayAndMonth : subrules) {
+            DayAndMonthRule subrule = new DayAndMonthRule(dayAndMonth[0], MonthConstants.JANUARY);
+            subrule.setMonth(dayAndMonth[1]);
+            for (Day day : Day.values()) {
+                for (WeekDayRange range : WeekDayRange.values()) {
+                    RelativeDayOfWeekRule rule = new RelativeDayOfWeekRule(subrule, day, range);
+                    for (int year = 1901; year < 9999; year += 7) {
+                        if (dayAndMonth[1] == 2 && !LocalDate.of(year, 1, 1).isLeapYear()) {
+                            assertEquals(NO_DATE, rule.findOrdinal(year));
+                            continue;
+                        }
+                        LocalDate base = LocalDate.of(year, dayAndMonth[1], dayAndMonth[0]);
+                        assertEquals(relative(base, toDayOfWeek(day), range), rule.getDate(year).toLocalDate(),
+                                base + " " + day + " " + range);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEdgesOfSupportedRange() throws Exception {
+        // 1 January 1900 is a Monday and 31 December 9999 a Friday.
+        RelativeDayOfWeekRule before = new RelativeDayOfWeekRule(new DayAndMonthRule(), Day.MONDAY, WeekDayRange.LAST);
+        assertThrows(IllegalArgumentException.class, () -> before.getOrdinal(MINIMUM_YEAR_SUPPORTED));
+        assertThrows(IllegalArgumentException.class, () -> before.getDate(MINIMUM_YEAR_SUPPORTED));
+        assertEquals(NO_DATE, before.findOrdinal(MINIMUM_YEAR_SUPPORTED));
+        assertEquals(LocalDate.of(1900, 12, 31), before.getDate(1901).toLocalDate());
+
+        RelativeDayOfWeekRule nearest = new RelativeDayOfWeekRule(new DayAndMonthRule(), Day.SATURDAY, WeekDayRange.NEAREST);
+        assertEquals(NO_DATE, nearest.findOrdinal(MINIMUM_YEAR_SUPPORTED));
+
+        DayAndMonthRule newYearsEve = new DayAndMonthRule(31, MonthConstants.DECEMBER);
+        RelativeDayOfWeekRule after = new RelativeDayOfWeekRule(newYearsEve, Day.MONDAY, WeekDayRange.NEXT);
+        assertThrows(IllegalArgumentException.class, () -> after.getOrdinal(MAXIMUM_YEAR_SUPPORTED));
+        assertEquals(NO_DATE, after.findOrdinal(MAXIMUM_YEAR_SUPPORTED));
+        assertEquals(LocalDate.of(9999, 12, 30),
+                new RelativeDayOfWeekRule(newYearsEve, Day.THURSDAY, WeekDayRange.NEAREST).getDate(MAXIMUM_YEAR_SUPPORTED).toLocalDate());
+
+        int[] dates = before.getDates(MINIMUM_YEAR_SUPPORTED, MAXIMUM_YEAR_SUPPORTED);
+        assertEquals(MAXIMUM_YEAR_SUPPORTED - MINIMUM_YEAR_SUPPORTED, dates.length);
+    }
+
+    @Test
+    public void testArgumentsAreChecked() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RelativeDayOfWeekRule(null, Day.MONDAY, WeekDayRange.NEXT));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RelativeDayOfWeekRule(new DayAndMonthRule(), null, WeekDayRange.NEXT));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RelativeDayOfWeekRule(new DayAndMonthRule(), Day.MONDAY, null));
+    }
+
+    @Test
+    public void testClonesTheSubrule() throws Exception {
+        RelativeDayOfWeekRule rule = new RelativeDayOfWeekRule();
+        RelativeDayOfWeekRule copy = (RelativeDayOfWeekRule) rule.clone();
+        assertNotSame(rule.getSubrule(), copy.getSubrule());
+        assertEquals(rule.getDate(2024), copy.getDate(2024));
+    }
+
+    @Test
+    public void testDayOfWeekInMonthMatchesJavaTime() throws Exception {
+        for (int month = 1; month <= 12; month++) {
+            for (Day day : Day.values()) {
+                DayOfWeek dayOfWeek = toDayOfWeek(day);
+                for (WeekInMonth week : WeekInMonth.values()) {
+                    DayOfWeekInMonthRule rule = new DayOfWeekInMonthRule(week, day, month);
+                    for (int year = MINIMUM_YEAR_SUPPORTED; year <= MAXIMUM_YEAR_SUPPORTED; year += 13) {
+                        LocalDate first = LocalDate.of(year, month, 1);
+                        LocalDate expected = week == WeekInMonth.LAST
+                                ? first.with(TemporalAdjusters.lastInMonth(dayOfWeek))
+                                : first.with(TemporalAdjusters.dayOfWeekInMonth(week.index, dayOfWeek));
+                        assertEquals(expected, rule.getDate(year).toLocalDate(), year + "-" + month + " " + week + " " + day);
+                    }
+                    assertEquals(month, rule.getDate(MAXIMUM_YEAR_SUPPORTED).getMonth().index);
+                }
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new DayOfWeekInMonthRule(WeekInMonth.FIRST, Day.MONDAY, 13));
+    }
+}
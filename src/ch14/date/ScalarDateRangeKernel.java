@@ -0,0 +1,37 @@
+package ch14.date;
+
+import java.util.Arrays;
+
+final class ScalarDateRangeKernel implements DateRangeKernel {
+    static final ScalarDateRangeKernel INSTANCE = new ScalarDateRangeKernel();
+
+    private ScalarDateRangeKernel() {
+    }
+
+    @Override
+    public int select(int[] ordinals, int length, int lo, int hi, int[] selection) {
+        return select(ordinals, 0, length, lo, hi, selection, 0);
+    }
+
+    static int select(int[] ordinals, int from, int to, int lo, int hi, int[] selection, int count) {
+        for (int i = from; i < to; i++) {
+            int d = ordinals[i];
+            selection[count] = i;
+            count += (d >= lo & d <= hi) ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public void mask(int[] ordinals, int length, int lo, int hi, long[] bits) {
+        Arrays.fill(bits, 0, (length + 63) >>> 6, 0L);
+        mask(ordinals, 0, length, lo, hi, bits);
+    }
+
+    static void mask(int[] ordinals, int from, int to, int lo, int hi, long[] bits) {
+        for (int i = from; i < to; i++) {
+            int d = ordinals[i];
+            if (d >= lo & d <= hi) bits[i >>> 6] |= 1L << i;
+        }
+    }
+}
@@ -55,31 +55,31 @@
 
 package ch14.date;
 
-public class SpreadsheetDate extends DayDate {
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+
+/**
+ * A date stored as its serial ordinal alone.  Day, month and year are read
+ * from {@link DateTables} on demand, so each instance is an object header
+ * and one {@code int}.
+ */
+public final class SpreadsheetDate extends DayDate {
     public static final int EARLIEST_DATE_ORDINAL = 2;
     public static final int LATEST_DATE_ORDINAL = 2958465;
     public static final int MINIMUM_YEAR_SUPPORTED = 1900;
     public static final int MAXIMUM_YEAR_SUPPORTED = 9999;
+    /** Ordinal of 1 January 1970, the epoch of java.util.Date and java.time. */
+    public static final int UNIX_EPOCH_ORDINAL = 25569;
     static final int[] AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH =
             {0, 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334, 365};
     static final int[]
             LEAP_YEAR_AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH =
             {0, 0, 31, 60, 91, 121, 152, 182, 213, 244, 274, 305, 335, 366};
 
-    private int ordinalDay;
-    private int day;
-    private Month month;
-    private int year;
-    public SpreadsheetDate(int day, Month month, int year) {
-        if(year < MINIMUM_YEAR_SUPPORTED || year > MAXIMUM_YEAR_SUPPORTED)
-            throw new IllegalArgumentException("Non Valid Year");
-        if(day < 1 || day > DateUtil.lastDayOfMonth(month, year))
-            throw new IllegalArgumentException("Non Valid Day");
+    private final int ordinalDay;
 
-        this.year = year;
-        this.month = month;
-        this.day = day;
-        this.ordinalDay = calcOrdinal(day, month, year);
+    public SpreadsheetDate(int day, Month month, int year) {
+        this.ordinalDay = ordinalOf(day, month, year);
     }
 
     public SpreadsheetDate(int day, int month, int year) {
@@ -87,20 +87,36 @@ public class SpreadsheetDate extends DayDate {
     }
 
     public SpreadsheetDate(int ordinalDay) {
+        checkOrdinal(ordinalDay);
+        this.ordinalDay = ordinalDay;
+    }
+
+    static void checkOrdinal(int ordinalDay) {
         if(ordinalDay < EARLIEST_DATE_ORDINAL || ordinalDay > LATEST_DATE_ORDINAL)
             throw new IllegalArgumentException("Non Valid Ordinal Day");
-        this.ordinalDay = ordinalDay;
-        calcDayMonthYear();
+    }
+
+    static void checkDayMonthYear(int day, Month month, int year) {
+        if(year < MINIMUM_YEAR_SUPPORTED || year > MAXIMUM_YEAR_SUPPORTED)
+            throw new IllegalArgumentException("Non Valid Year");
+        if(day < 1 || day > DateUtil.lastDayOfMonth(month, year))
+            throw new IllegalArgumentException("Non Valid Day");
+    }
+
+    /** Validates the date like the constructor does and returns its ordinal without creating it. */
+    static int ordinalOf(int day, Month month, int year) {
+        checkDayMonthYear(day, month, year);
+        return DateTables.ordinalOf(day, month.index, year);
     }
 
     public int getYear() {
-        return this.year;
+        return OrdinalDates.year(ordinalDay);
     }
     public Month getMonth() {
-        return this.month;
+        return DateTables.MONTHS[OrdinalDates.month(ordinalDay)];
     }
     public int getDayOfMonth() {
-        return this.day;
+        return OrdinalDates.dayOfMonth(ordinalDay);
     }
     @Override
     public int getOrdinalDay() {
@@ -111,48 +127,19 @@ public class SpreadsheetDate extends DayDate {
         return Day.SATURDAY;
     }
 
-    private void calcDayMonthYear() {
-        int days = ordinalDay - EARLIEST_DATE_ORDINAL;
-        int overEstimatedYear = MINIMUM_YEAR_SUPPORTED + days / 365; //윤년을 고려하지 않고 그냥 센 year. 초과될수있다
-        int nonLeapDays = days - DateUtil.leapYearCount(overEstimatedYear);
-        int underEstimatedYear = MINIMUM_YEAR_SUPPORTED + nonLeapDays / 365 ; //윤년을 고려해서 최소로 센 year.
-        year = huntForYearContaining(ordinalDay, underEstimatedYear); //윤년을 고려한 year 를 조정한다.
-        int firstOrdinalOfYear = firstOrdinalOfYear(year);
-        month = huntForMonthContaining(ordinalDay, firstOrdinalOfYear);
-    }
-
-    private Month huntForMonthContaining(int anOrdinal, int firstOrdinalOfYear) {
-        int daysIntoThisYear = anOrdinal - firstOrdinalOfYear;
-        int aMonth = 1;
-        while(daysBeforeThisMonth(month) < daysIntoThisYear) aMonth++;
-        return Month.make(aMonth -1);
-    }
-
-    private int daysBeforeThisMonth(Month aMonth) {
-        if(DateUtil.isLeapYear(year))
-            return LEAP_YEAR_AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH[aMonth.toInt()] -1;
-        else
-            return AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH[aMonth.toInt()] -1 ;
-    }
-
-    private int huntForYearContaining(int anOrdinalDay, int startingYear) {
-        int aYear = startingYear;
-        while(firstOrdinalOfYear(aYear) <= anOrdinalDay) aYear++;
-        return aYear-1;
+    @Override
+    public Day getDayOfWeek() {
+        return DateTables.dayOfWeekOf(ordinalDay);
     }
 
-    private int firstOrdinalOfYear(int year) {
-        return calcOrdinal(1, Month.JANUARY, year);
+    /** Serializes as the three-byte {@link DayDateCodec} form. */
+    private Object writeReplace() {
+        return new DayDateCodec.Ser(ordinalDay);
     }
 
-
-    private int calcOrdinal(int day, Month month, int year) {
-        int leapDaysForYear = DateUtil.leapYearCount(year-1);
-        int daysUpToYear = (year - MINIMUM_YEAR_SUPPORTED) * 365 + leapDaysForYear; //해당 년도까지의 Day 카운트
-        int daysUpToMonth = AGGREGATE_DAYS_TO_END_OF_PRECEDING_MONTH[month.toInt()];
-        if(DateUtil.isLeapYear(year) && month.toInt() > Month.FEBRUARY.toInt()) {daysUpToMonth++;}
-        int daysInMonth = day - 1;
-        return daysUpToYear + daysInMonth + daysInMonth + EARLIEST_DATE_ORDINAL;
+    /** Only {@link DayDateCodec.Ser} is read, so a forged stream cannot skip its range check. */
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Proxy required");
     }
 
 }
@@ -1,10 +1,30 @@
 package ch14.date;
 
-import java.util.Calendar;
+import java.time.ZoneId;
 import java.util.Date;
-import java.util.GregorianCalendar;
 
 public class SpreadsheetDateFactory extends DayDateFactory {
+    /** Null when the factory follows the default time zone. */
+    private final ZoneOffsets zoneOffsets;
+
+    /**
+     * Creates a factory that converts {@link Date}s in the default time zone
+     * current at each call, so a later {@link java.util.TimeZone#setDefault}
+     * takes effect.
+     */
+    public SpreadsheetDateFactory() {
+        this(null);
+    }
+
+    /** Creates a factory that converts {@link Date}s in the given zone, or the default zone if it is null. */
+    public SpreadsheetDateFactory(ZoneId zone) {
+        this.zoneOffsets = zone == null ? null : ZoneOffsets.of(zone);
+    }
+
+    private ZoneOffsets zoneOffsets() {
+        return zoneOffsets != null ? zoneOffsets : ZoneOffsets.ofDefault();
+    }
+
     @Override
     public DayDate _makeDate(int ordinal) {
         return new SpreadsheetDate(ordinal);
@@ -20,15 +40,35 @@ public class SpreadsheetDateFactory extends DayDateFactory {
         return new SpreadsheetDate(day, month, year);
     }
 
+    /**
+     * Converts through the zone's cached offset transitions rather than a
+     * Calendar.  Works the same for java.util.Date and java.sql.Date.
+     */
     @Override
     public DayDate _makeDate(Date date) {
-        final GregorianCalendar calendar = new GregorianCalendar();
-        calendar.setTime(date);
-        return new SpreadsheetDate(
-                calendar.get(Calendar.DATE),
-                Month.make(calendar.get(Calendar.MONTH)+1),
-                calendar.get(Calendar.YEAR)
-        );
+        return _makeDate(OrdinalDates.fromEpochMillis(date.getTime(), zoneOffsets()));
+    }
+
+    /**
+     * Converts instants in milliseconds to the ordinal of the day they fall on
+     * in this factory's time zone.
+     *
+     * @throws IllegalArgumentException if a day is outside the supported range.
+     */
+    public void toOrdinals(long[] epochMillis, int[] out) {
+        if(out.length < epochMillis.length)
+            throw new IllegalArgumentException("Output Array Too Small");
+        ZoneOffsets offsets = zoneOffsets();
+        for(int i = 0; i < epochMillis.length; i++) {
+            int ordinal = OrdinalDates.fromEpochMillis(epochMillis[i], offsets);
+            SpreadsheetDate.checkOrdinal(ordinal);
+            out[i] = ordinal;
+        }
+    }
+
+    /** The factory's zone, or the current default zone if none was given. */
+    public ZoneId getZone() {
+        return zoneOffsets().getZone();
     }
 
     @Override
@@ -0,0 +1,73 @@
+package ch14.date;
+
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpreadsheetDateFactoryTest {
+    private static final String[] ZONES = {
+            "UTC", "Asia/Tokyo", "Europe/London", "America/New_York", "America/Sao_Paulo", "Pacific/Apia"};
+
+    @Test
+    public void testMakeDateMatchesCalendarFields() throws Exception {
+        Random random = new Random(42);
+        long first = -2_000_000_000_000L;
+        long last = 4_000_000_000_000L;
+        for (String id : ZONES) {
+            SpreadsheetDateFactory factory = new SpreadsheetDateFactory(ZoneId.of(id));
+            Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone(id));
+            long[] millis = new long[10_000];
+            for (int i = 0; i < millis.length; i++) millis[i] = first + (long) (random.nextDouble() * (last - first));
+            int[] ordinals = new int[millis.length];
+            factory.toOrdinals(millis, ordinals);
+            for (int i = 0; i < millis.length; i++) {
+                calendar.setTimeInMillis(millis[i]);
+                DayDate date = factory._makeDate(new Date(millis[i]));
+                assertEquals(calendar.get(Calendar.YEAR), date.getYear());
+                assertEquals(calendar.get(Calendar.MONTH) + 1, date.getMonth().index);
+                assertEquals(calendar.get(Calendar.DAY_OF_MONTH), date.getDayOfMonth());
+                assertEquals(date.getOrdinalDay(), ordinals[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testSqlDateIsConvertedLikeUtilDate() throws Exception {
+        SpreadsheetDateFactory factory = new SpreadsheetDateFactory(ZoneId.of("Asia/Tokyo"));
+        long millis = 999_993_200_000L;
+        assertEquals(factory._makeDate(new Date(millis)), factory._makeDate(new java.sql.Date(millis)));
+    }
+
+    @Test
+    public void testDefaultFactoryFollowsDefaultZone() throws Exception {
+        TimeZone saved = TimeZone.getDefault();
+        try {
+            SpreadsheetDateFactory factory = new SpreadsheetDateFactory();
+            // 2001-09-08T23:53:20Z
+            Date instant = new Date(999_993_200_000L);
+            TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+            assertEquals(ZoneId.of("UTC"), factory.getZone());
+            assertEquals(8, factory._makeDate(instant).getDayOfMonth());
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            assertEquals(ZoneId.of("Asia/Tokyo"), factory.getZone());
+            assertEquals(9, factory._makeDate(instant).getDayOfMonth());
+        } finally {
+            TimeZone.setDefault(saved);
+        }
+    }
+
+    @Test
+    public void testOutOfRangeInstantsAreRejected() throws Exception {
+        SpreadsheetDateFactory factory = new SpreadsheetDateFactory(ZoneId.of("UTC"));
+        assertThrows(IllegalArgumentException.class, () -> factory._makeDate(new Date(Long.MIN_VALUE)));
+        assertThrows(IllegalArgumentException.class, () -> factory.toOrdinals(new long[] {Long.MAX_VALUE}, new int[1]));
+        assertThrows(IllegalArgumentException.class, () -> factory.toOrdinals(new long[2], new int[1]));
+    }
+}
@@ -0,0 +1,95 @@
+package ch14.date;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static ch14.date.SpreadsheetDate.UNIX_EPOCH_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpreadsheetDateTest {
+
+    private static LocalDate localDateOf(int ordinal) {
+        return LocalDate.ofEpochDay(ordinal - UNIX_EPOCH_ORDINAL);
+    }
+
+    @Test
+    public void testFieldsMatchJavaTimeOverWholeRange() throws Exception {
+        for (int ordinal = EARLIEST_DATE_ORDINAL; ordinal <= LATEST_DATE_ORDINAL; ordinal++) {
+            SpreadsheetDate date = new SpreadsheetDate(ordinal);
+            LocalDate expected = localDateOf(ordinal);
+            if (date.getYear() != expected.getYear()
+                    || date.getMonth().index != expected.getMonthValue()
+                    || date.getDayOfMonth() != expected.getDayOfMonth()
+                    || date.getDayOfWeek().index != expected.getDayOfWeek().getValue() % 7 + 1)
+                fail("ordinal " + ordinal + " is " + expected);
+        }
+    }
+
+    @Test
+    public void testDayMonthYearRoundTripsOverWholeRange() throws Exception {
+        for (int ordinal = EARLIEST_DATE_ORDINAL; ordinal <= LATEST_DATE_ORDINAL; ordinal++) {
+            LocalDate date = localDateOf(ordinal);
+            assertEquals(ordinal, new SpreadsheetDate(date.getDayOfMonth(), date.getMonthValue(), date.getYear())
+                    .getOrdinalDay());
+        }
+    }
+
+    @Test
+    public void testRangeEnds() throws Exception {
+        assertEquals(LocalDate.of(1900, 1, 1), new SpreadsheetDate(EARLIEST_DATE_ORDINAL).toLocalDate());
+        assertEquals(LocalDate.of(9999, 12, 31), new SpreadsheetDate(LATEST_DATE_ORDINAL).toLocalDate());
+        assertThrows(IllegalArgumentException.class, () -> new SpreadsheetDate(EARLIEST_DATE_ORDINAL - 1));
+        assertThrows(IllegalArgumentException.class, () -> new SpreadsheetDate(LATEST_DATE_ORDINAL + 1));
+        assertThrows(IllegalArgumentException.class, () -> new SpreadsheetDate(29, 2, 1900));
+        assertThrows(IllegalArgumentException.class, () -> new SpreadsheetDate(1, 1, 10000));
+    }
+
+    @Test
+    public void testLeapDays() throws Exception {
+        assertEquals(29, new SpreadsheetDate(29, 2, 2000).getDayOfMonth());
+        assertEquals(Month.MARCH, new SpreadsheetDate(29, 2, 2000).plusDays(1).getMonth());
+        assertThrows(IllegalArgumentException.class, () -> new SpreadsheetDate(29, 2, 2100));
+    }
+
+    @Test
+    public void testLayoutIsOneFinalOrdinal() throws Exception {
+        assertTrue(Modifier.isFinal(SpreadsheetDate.class.getModifiers()));
+        assertTrue(DayDate.class.isSealed());
+        assertArrayEquals(new Class<?>[] {SpreadsheetDate.class}, DayDate.class.getPermittedSubclasses());
+        List<Field> instanceFields = new ArrayList<>();
+        for (Class<?> type = SpreadsheetDate.class; type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) instanceFields.add(field);
+            }
+        }
+        assertEquals(1, instanceFields.size());
+        assertEquals(int.class, instanceFields.get(0).getType());
+        assertTrue(Modifier.isFinal(instanceFields.get(0).getModifiers()));
+    }
+
+    @Test
+    public void testSerializedDateKeepsItsOrdinal() throws Exception {
+        for (int ordinal : new int[] {EARLIEST_DATE_ORDINAL, UNIX_EPOCH_ORDINAL, LATEST_DATE_ORDINAL}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(new SpreadsheetDate(ordinal));
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                DayDate restored = (DayDate) in.readObject();
+                assertEquals(ordinal, restored.getOrdinalDay());
+                assertEquals(localDateOf(ordinal), restored.toLocalDate());
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ch14.date;
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API version of the range filter.  Needs the
+ * {@code jdk.incubator.vector} module at compile time and run time;
+ * {@link DateRangeFilter} only loads this class when the module is present.
+ */
+final class VectorDateRangeKernel implements DateRangeKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public int select(int[] ordinals, int length, int lo, int hi, int[] selection) {
+        int count = 0;
+        int i = 0;
+        int upperBound = SPECIES.loopBound(length);
+        for (; i < upperBound; i += SPECIES.length()) {
+            long lanes = inRange(ordinals, i, lo, hi).toLong();
+            while (lanes != 0) {
+                selection[count++] = i + Long.numberOfTrailingZeros(lanes);
+                lanes &= lanes - 1;
+            }
+        }
+        return ScalarDateRangeKernel.select(ordinals, i, length, lo, hi, selection, count);
+    }
+
+    @Override
+    public void mask(int[] ordinals, int length, int lo, int hi, long[] bits) {
+        Arrays.fill(bits, 0, (length + 63) >>> 6, 0L);
+        int i = 0;
+        int upperBound = SPECIES.loopBound(length);
+        for (; i < upperBound; i += SPECIES.length()) {
+            bits[i >>> 6] |= inRange(ordinals, i, lo, hi).toLong() << i;
+        }
+        ScalarDateRangeKernel.mask(ordinals, i, length, lo, hi, bits);
+    }
+
+    private static VectorMask<Integer> inRange(int[] ordinals, int offset, int lo, int hi) {
+        IntVector v = IntVector.fromArray(SPECIES, ordinals, offset);
+        return v.compare(VectorOperators.GE, lo).and(v.compare(VectorOperators.LE, hi));
+    }
+}
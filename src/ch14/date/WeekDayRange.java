@@ -1,5 +1,14 @@
 package ch14.date;
 
 public enum WeekDayRange {
-    LAST,NEAREST,NEXT;
+    LAST(0),
+    NEAREST(1),
+    NEXT(2);
+
+    /** Stable code stored by {@link DayDateCodec}; unlike the ordinal it does not move when constants change. */
+    public final int index;
+
+    WeekDayRange(int index) {
+        this.index = index;
+    }
 }
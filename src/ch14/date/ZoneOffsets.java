@@ -0,0 +1,132 @@
+package ch14.date;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The UTC offset history of one time zone between 1900 and 9999, flattened
+ * into sorted arrays so offsets are found with a binary search and no
+ * allocation.  Instances are immutable and shared per {@link ZoneId}.
+ * <P>
+ * Local times in a gap or an overlap resolve the way
+ * {@link java.util.GregorianCalendar} resolves them: both use the offset
+ * that follows the transition, except that a time inside a gap uses the
+ * offset before it.
+ */
+final class ZoneOffsets {
+    static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private static final ConcurrentHashMap<ZoneId, ZoneOffsets> CACHE = new ConcurrentHashMap<>();
+    private static final Instant FIRST_INSTANT = Instant.parse("1899-12-31T00:00:00Z");
+    private static final Instant LAST_INSTANT = Instant.parse("+10000-01-02T00:00:00Z");
+
+    private final ZoneId zone;
+    /** Offsets in milliseconds: {@code offsets[0]} before the first transition, {@code offsets[i + 1]} from transition {@code i} on. */
+    private final int[] offsets;
+    /** Instant of each transition. */
+    private final long[] utcTransitions;
+    /** Local time of each transition, measured with the offset that follows it. */
+    private final long[] localTransitions;
+    /** Offset at local midnight of each day, built one year at a time on first use. */
+    private final AtomicReferenceArray<int[]> midnightOffsets = new AtomicReferenceArray<>(DateTables.YEAR_COUNT);
+
+    private ZoneOffsets(ZoneId zone) {
+        this.zone = zone;
+        ZoneRules rules = zone.getRules();
+        long[] utc = new long[64];
+        long[] local = new long[64];
+        int[] offs = new int[65];
+        int count = 0;
+        offs[0] = rules.getOffset(FIRST_INSTANT).getTotalSeconds() * 1000;
+        if (!rules.isFixedOffset()) {
+            ZoneOffsetTransition t = rules.nextTransition(FIRST_INSTANT);
+            while (t != null && t.getInstant().isBefore(LAST_INSTANT)) {
+                if (count == utc.length) {
+                    utc = Arrays.copyOf(utc, count * 2);
+                    local = Arrays.copyOf(local, count * 2);
+                    offs = Arrays.copyOf(offs, count * 2 + 1);
+                }
+                int after = t.getOffsetAfter().getTotalSeconds() * 1000;
+                utc[count] = t.getInstant().toEpochMilli();
+                local[count] = utc[count] + after;
+                offs[++count] = after;
+                t = rules.nextTransition(t.getInstant());
+            }
+        }
+        this.utcTransitions = Arrays.copyOf(utc, count);
+        this.localTransitions = Arrays.copyOf(local, count);
+        this.offsets = Arrays.copyOf(offs, count + 1);
+    }
+
+    static ZoneOffsets of(ZoneId zone) {
+        ZoneOffsets cached = CACHE.get(zone);
+        if (cached != null) return cached;
+        return CACHE.computeIfAbsent(zone, ZoneOffsets::new);
+    }
+
+    /** Offsets of the JVM's current default time zone, looked up on every call. */
+    static ZoneOffsets ofDefault() {
+        return of(ZoneId.systemDefault());
+    }
+
+    ZoneId getZone() {
+        return zone;
+    }
+
+    boolean isFixed() {
+        return utcTransitions.length == 0;
+    }
+
+    /** Returns the offset in milliseconds in force at the given instant. */
+    int offsetAtInstant(long epochMillis) {
+        if (isFixed()) return offsets[0];
+        return offsets[upperBound(utcTransitions, epochMillis)];
+    }
+
+    /** Returns the offset in milliseconds used to turn the given local time into an instant. */
+    int offsetAtLocal(long localMillis) {
+        if (isFixed()) return offsets[0];
+        return offsets[upperBound(localTransitions, localMillis)];
+    }
+
+    long localToEpochMillis(long localMillis) {
+        return localMillis - offsetAtLocal(localMillis);
+    }
+
+    /** Returns the instant at which the day with the given serial ordinal starts in this zone. */
+    long midnightEpochMillis(int ordinal) {
+        long localMidnight = (ordinal - SpreadsheetDate.UNIX_EPOCH_ORDINAL) * MILLIS_PER_DAY;
+        if (isFixed()) return localMidnight - offsets[0];
+        int yearIndex = DateTables.yearIndexOf(ordinal);
+        int[] yearOffsets = midnightOffsets.get(yearIndex);
+        if (yearOffsets == null) yearOffsets = buildMidnightOffsets(yearIndex);
+        return localMidnight - yearOffsets[ordinal - DateTables.YEAR_START[yearIndex]];
+    }
+
+    private int[] buildMidnightOffsets(int yearIndex) {
+        int firstOrdinal = DateTables.YEAR_START[yearIndex];
+        int[] yearOffsets = new int[DateTables.YEAR_START[yearIndex + 1] - firstOrdinal];
+        for (int i = 0; i < yearOffsets.length; i++) {
+            yearOffsets[i] = offsetAtLocal((firstOrdinal + i - SpreadsheetDate.UNIX_EPOCH_ORDINAL) * MILLIS_PER_DAY);
+        }
+        midnightOffsets.compareAndSet(yearIndex, null, yearOffsets);
+        return midnightOffsets.get(yearIndex);
+    }
+
+    /** Number of entries of {@code sorted} that are less than or equal to {@code key}. */
+    private static int upperBound(long[] sorted, long key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
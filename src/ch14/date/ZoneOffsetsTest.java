@@ -0,0 +1,67 @@
+package ch14.date;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+import static ch14.date.SpreadsheetDate.LATEST_DATE_ORDINAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZoneOffsetsTest {
+    private static final String[] ZONES = {
+            "UTC", "Asia/Tokyo", "Europe/London", "America/New_York", "America/Sao_Paulo",
+            "Australia/Lord_Howe", "Asia/Kolkata", "Pacific/Apia"};
+
+    private static long calendarMidnight(int ordinal, TimeZone zone) {
+        Calendar calendar = new GregorianCalendar(zone);
+        calendar.clear();
+        calendar.set(OrdinalDates.year(ordinal), OrdinalDates.month(ordinal) - 1, OrdinalDates.dayOfMonth(ordinal));
+        return calendar.getTimeInMillis();
+    }
+
+    @Test
+    public void testMidnightMatchesGregorianCalendar() throws Exception {
+        for (String id : ZONES) {
+            ZoneId zone = ZoneId.of(id);
+            TimeZone timeZone = TimeZone.getTimeZone(zone);
+            // java.util.TimeZone's data starts in 1900, and on 1 January 1900 it disagrees with
+            // java.time in zones such as Asia/Kolkata, so the comparison starts a day later.
+            for (int ordinal = OrdinalDates.ordinal(2, 1, 1900); ordinal < OrdinalDates.ordinal(1, 1, 2100); ordinal++) {
+                if (calendarMidnight(ordinal, timeZone) != DayDateFactory.makeDate(ordinal).toEpochMillis(zone))
+                    fail(id + " " + DayDateFactory.makeDate(ordinal).toLocalDate());
+            }
+            for (int ordinal = LATEST_DATE_ORDINAL - 400; ordinal <= LATEST_DATE_ORDINAL; ordinal++) {
+                assertEquals(calendarMidnight(ordinal, timeZone), OrdinalDates.toEpochMillis(ordinal, zone));
+            }
+        }
+    }
+
+    @Test
+    public void testToDateIsStartOfDay() throws Exception {
+        DayDate date = DayDateFactory.makeDate(9, 9, 2001);
+        assertEquals(999_993_600_000L, date.toDate(ZoneId.of("UTC")).getTime());
+        assertEquals(999_993_600_000L - 9 * 3_600_000L, date.toDate(ZoneId.of("Asia/Tokyo")).getTime());
+    }
+
+    @Test
+    public void testOffsetAtInstantMatchesZoneRules() throws Exception {
+        Random random = new Random(42);
+        long first = Instant.parse("1900-01-01T00:00:00Z").toEpochMilli();
+        long last = Instant.parse("9999-12-31T00:00:00Z").toEpochMilli();
+        for (String id : ZONES) {
+            ZoneId zone = ZoneId.of(id);
+            ZoneOffsets offsets = ZoneOffsets.of(zone);
+            assertSame(offsets, ZoneOffsets.of(zone));
+            for (int i = 0; i < 100_000; i++) {
+                long millis = first + (long) (random.nextDouble() * (last - first));
+                assertEquals(zone.getRules().getOffset(Instant.ofEpochMilli(millis)).getTotalSeconds() * 1000,
+                        offsets.offsetAtInstant(millis), id + " " + Instant.ofEpochMilli(millis));
+            }
+        }
+    }
+}